@@ -0,0 +1,140 @@
+package com.anime.guessgame.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The log statements one POST /api/game/ask goes through, written to the
+ * null device so that each write is still a system call:
+ *
+ * - before: the old setup. A synchronous console appender, DEBUG for the app,
+ *   Spring Security and org.hibernate.SQL, and the question text at INFO:
+ *   eleven lines per request on the request thread.
+ * - async: the same levels and statements behind the ring buffer appender
+ *   with the JSON encoder, i.e. the appender change alone.
+ * - after: the current setup (logback-spring.xml and application.yml
+ *   levels), where none of these statements is enabled any more.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AskLoggingBenchmark {
+
+    private static final String QUESTION = "Does your character have a devil fruit power?";
+
+    @Param({"before", "async", "after"})
+    public String setup;
+
+    private LoggerContext loggerContext;
+    private Logger security;
+    private Logger gameService;
+    private Logger aiService;
+    private Logger sql;
+
+    @Setup
+    public void setUp() throws FileNotFoundException {
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(MDC.getMDCAdapter());
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(setup.equals("before") ? syncTextAppender() : asyncJsonAppender());
+
+        boolean debug = !setup.equals("after");
+        loggerContext.getLogger("com.anime.guessgame").setLevel(debug ? Level.DEBUG : Level.INFO);
+        loggerContext.getLogger("org.springframework.security").setLevel(debug ? Level.DEBUG : Level.INFO);
+        loggerContext.getLogger("org.hibernate.SQL").setLevel(debug ? Level.DEBUG : Level.WARN);
+
+        security = loggerContext.getLogger("org.springframework.security.web.FilterChainProxy");
+        gameService = loggerContext.getLogger("com.anime.guessgame.service.GameService");
+        aiService = loggerContext.getLogger("com.anime.guessgame.service.AIService");
+        sql = loggerContext.getLogger("org.hibernate.SQL");
+
+        MDC.put("requestId", "8f14e45f-ceea-467f-a0f7-2d6f0c5e6a3b");
+        MDC.put("userId", "1001");
+        MDC.put("gameId", "42");
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void askRequest() {
+        security.debug("Securing POST /api/game/ask");
+        security.debug("Set SecurityContextHolder to {}", "UsernamePasswordAuthenticationToken [player1]");
+        security.debug("Secured POST /api/game/ask");
+        if (setup.equals("after")) {
+            gameService.debug("User {} asking a question", "player1");
+        } else {
+            gameService.info("User {} asking question: {}", "player1", QUESTION);
+        }
+        sql.debug("select u1_0.id,u1_0.username from users u1_0 where u1_0.username=?");
+        sql.debug("select g1_0.id,g1_0.character_id from games g1_0 where g1_0.user_id=? and g1_0.status='ACTIVE'");
+        aiService.debug("Processing question for character: {}", "Monkey D. Luffy");
+        aiService.debug("AI response generated successfully");
+        sql.debug("insert into questions (answer_text,asked_at,game_id,question_text) values (?,?,?,?)");
+        sql.debug("update games set questions_count=? where id=?");
+        gameService.debug("Question answered for game: {}", 42);
+    }
+
+    private Appender<ILoggingEvent> syncTextAppender() throws FileNotFoundException {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+        return nullDeviceAppender(encoder);
+    }
+
+    private Appender<ILoggingEvent> asyncJsonAppender() throws FileNotFoundException {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+
+        LoggingEventAsyncDisruptorAppender async = new LoggingEventAsyncDisruptorAppender();
+        async.setContext(loggerContext);
+        async.setRingBufferSize(8192);
+        async.setAppendTimeout(ch.qos.logback.core.util.Duration.buildByMilliseconds(0));
+        async.addAppender(nullDeviceAppender(encoder));
+        async.start();
+        return async;
+    }
+
+    private Appender<ILoggingEvent> nullDeviceAppender(Encoder<ILoggingEvent> encoder) throws FileNotFoundException {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new FileOutputStream(System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null"));
+        appender.start();
+        return appender;
+    }
+}
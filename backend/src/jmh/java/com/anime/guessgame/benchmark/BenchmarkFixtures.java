@@ -0,0 +1,36 @@
+package com.anime.guessgame.benchmark;
+
+import com.anime.guessgame.entity.Character;
+
+/**
+ * Realistically sized data shared by the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /** A fully described character, as seeded in the database */
+    public static Character luffy() {
+        return Character.builder()
+                .id(1L)
+                .name("Monkey D. Luffy")
+                .anime("One Piece")
+                .gender("Male")
+                .age("19")
+                .hairColor("Black")
+                .eyeColor("Black")
+                .occupation("Pirate captain of the Straw Hat Pirates")
+                .personality("Cheerful, carefree, endlessly hungry and fiercely loyal to his friends. "
+                        + "Simple-minded about most things but remarkably perceptive about people.")
+                .powersAbilities("Rubber body from the Gum-Gum Fruit, Gear techniques, all three types of Haki.")
+                .backstory("Grew up in Foosha Village, inspired by Red-Haired Shanks, who gave him his straw hat. "
+                        + "Set out to sea at seventeen to find the One Piece and become King of the Pirates.")
+                .notableQuotes("\"I'm gonna be King of the Pirates!\" \"I don't want to conquer anything.\"")
+                .relationships("Adopted brother of Ace and Sabo; grandson of Garp; son of Dragon.")
+                .appearanceDescription("Lean build, scar under his left eye, red vest, blue shorts, straw hat.")
+                .characterType("protagonist")
+                .isActive(true)
+                .build();
+    }
+}
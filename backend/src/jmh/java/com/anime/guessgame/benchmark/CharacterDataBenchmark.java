@@ -0,0 +1,46 @@
+package com.anime.guessgame.benchmark;
+
+import com.anime.guessgame.entity.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Character.getFullCharacterData, the AI context built for every question.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterDataBenchmark {
+
+    private Character described;
+    private Character sparse;
+
+    @Setup
+    public void setUp() {
+        described = BenchmarkFixtures.luffy();
+        sparse = Character.builder().name("Nameless Extra").anime("Unknown Anime").build();
+    }
+
+    @Benchmark
+    public String fullyDescribedCharacter() {
+        return described.getFullCharacterData();
+    }
+
+    @Benchmark
+    public String sparseCharacter() {
+        return sparse.getFullCharacterData();
+    }
+}
@@ -0,0 +1,76 @@
+package com.anime.guessgame.benchmark;
+
+import com.anime.guessgame.dto.GameResponse;
+import com.anime.guessgame.entity.Game;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameResponse rendering with an ObjectMapper configured like Spring Boot's,
+ * for a fresh game and a long conversation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameResponseSerializationBenchmark {
+
+    @Param({"0", "20"})
+    public int questions;
+
+    private ObjectMapper objectMapper;
+    private GameResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime startedAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<GameResponse.QuestionResponse> conversation = new ArrayList<>();
+        for (int i = 0; i < questions; i++) {
+            conversation.add(GameResponse.QuestionResponse.builder()
+                    .question("Is your character known for using a special technique number " + i + "?")
+                    .answer("Ha! You'll have to be more specific than that. I've got plenty of moves up my sleeve!")
+                    .askedAt(startedAt.plusMinutes(i))
+                    .build());
+        }
+        response = GameResponse.builder()
+                .gameId(42L)
+                .status(questions == 0 ? Game.GameStatus.ACTIVE : Game.GameStatus.WON)
+                .questionsCount(questions)
+                .startedAt(startedAt)
+                .endedAt(questions == 0 ? null : startedAt.plusMinutes(questions))
+                .guessedCorrectly(questions > 0)
+                .finalGuess(questions == 0 ? null : "luffy")
+                .revealedCharacter(questions == 0 ? null : "Monkey D. Luffy from One Piece")
+                .conversationHistory(conversation)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
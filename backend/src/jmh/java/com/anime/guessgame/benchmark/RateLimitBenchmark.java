@@ -0,0 +1,61 @@
+package com.anime.guessgame.benchmark;
+
+import com.anime.guessgame.config.RateLimitConfig;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter's per-request work (bucket lookup + one token) with eight
+ * threads contending: spread over many users, and all on one user's bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimitBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private RateLimitConfig rateLimitConfig;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        rateLimitConfig = new RateLimitConfig();
+        keys = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            keys[i] = "user" + i;
+            rateLimitConfig.resolveBucket(keys[i], RateLimitConfig.BucketType.GENERAL);
+        }
+    }
+
+    @Benchmark
+    public ConsumptionProbe manyUsers() {
+        String key = keys[ThreadLocalRandom.current().nextInt(USERS)];
+        Bucket bucket = rateLimitConfig.resolveBucket(key, RateLimitConfig.BucketType.GENERAL);
+        return bucket.tryConsumeAndReturnRemaining(1);
+    }
+
+    @Benchmark
+    public ConsumptionProbe singleHotUser() {
+        Bucket bucket = rateLimitConfig.resolveBucket(keys[0], RateLimitConfig.BucketType.GENERAL);
+        return bucket.tryConsumeAndReturnRemaining(1);
+    }
+}
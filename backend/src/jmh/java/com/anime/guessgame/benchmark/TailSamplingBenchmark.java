@@ -0,0 +1,114 @@
+package com.anime.guessgame.benchmark;
+
+import com.anime.guessgame.config.TailSamplingSpanProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of TailSamplingSpanProcessor on a request-sized trace (a root and 20
+ * children, about what one /ask records with JDBC spans). "direct" hands
+ * every span straight to the exporting processor, as without tail sampling;
+ * "dropped" and "kept" buffer the trace and then drop or forward it.
+ *
+ * Budget: buffering may add at most 100 ns per span over "direct", i.e. 2 µs
+ * on a request that spends milliseconds in the database and around a second
+ * in the model. The budget holds for concurrentRequestTraces too, where
+ * every span end of 4 concurrent requests goes through the processor's one
+ * lock, as it does under load; run it with at least 4 CPUs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TailSamplingBenchmark {
+
+    private static final int CHILDREN = 20;
+
+    @Param({"direct", "dropped", "kept"})
+    public String mode;
+
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpanProcessor exporter = new NoopExportingProcessor();
+        SpanProcessor processor = mode.equals("direct")
+                ? exporter
+                : new TailSamplingSpanProcessor(exporter, Duration.ofHours(1), mode.equals("kept") ? 1.0 : 0.0,
+                        2048, 256, new SimpleMeterRegistry());
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        tracer = tracerProvider.get("benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Benchmark
+    public Span requestTrace() {
+        Span root = tracer.spanBuilder("http post /api/game/ask").startSpan();
+        Context parent = Context.root().with(root);
+        for (int i = 0; i < CHILDREN; i++) {
+            tracer.spanBuilder("query").setParent(parent).startSpan().end();
+        }
+        root.end();
+        return root;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Span concurrentRequestTraces() {
+        return requestTrace();
+    }
+
+    /**
+     * Stands in for the BatchSpanProcessor: takes each span and does nothing with it.
+     */
+    private static final class NoopExportingProcessor implements SpanProcessor {
+
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {
+        }
+
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+
+        @Override
+        public void onEnd(ReadableSpan span) {
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.anime.guessgame.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameService.isGuessCorrect for an exact, a partial and a wrong guess.
+ * Lives in the service package because the method is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuessMatchingBenchmark {
+
+    @Param({"Monkey D. Luffy", "luffy", "Roronoa Zoro"})
+    public String guess;
+
+    @Benchmark
+    public boolean isGuessCorrect() {
+        return GameService.isGuessCorrect("Monkey D. Luffy", guess);
+    }
+}
@@ -0,0 +1,45 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.benchmark.BenchmarkFixtures;
+import com.anime.guessgame.entity.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIService prompt construction (template parse + render) done before every
+ * OpenAI call. Lives in the service package because buildPrompt is
+ * package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBuildingBenchmark {
+
+    private AIService aiService;
+    private Character character;
+
+    @Setup
+    public void setUp() {
+        aiService = new AIService();
+        character = BenchmarkFixtures.luffy();
+    }
+
+    @Benchmark
+    public Prompt buildPrompt() {
+        return aiService.buildPrompt("Do you have any special powers?", character);
+    }
+}
@@ -0,0 +1,34 @@
+package com.anime.guessgame.loadtest;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Log-normal latency fitted to a median and a 99th percentile, which is a
+ * good approximation of hosted LLM response times (long right tail).
+ *
+ * Sample n of a given seed is always the same, whichever thread asks for it,
+ * so two runs with the same settings see the same latencies.
+ */
+public record LatencyDistribution(Duration p50, Duration p99, Duration max, long seed) {
+
+    /** z-score of the 99th percentile of a standard normal distribution */
+    private static final double Z_99 = 2.3263;
+
+    public LatencyDistribution {
+        if (p50.isNegative() || p99.compareTo(p50) < 0) {
+            throw new IllegalArgumentException("Expected 0 <= p50 <= p99, got p50=" + p50 + " p99=" + p99);
+        }
+    }
+
+    public Duration sample(long n) {
+        if (p50.isZero()) {
+            return Duration.ZERO;
+        }
+        double mu = Math.log(p50.toNanos());
+        double sigma = (Math.log(p99.toNanos()) - mu) / Z_99;
+        double gaussian = new SplittableRandom(seed ^ (n * 0x9E3779B97F4A7C15L)).nextGaussian();
+        long nanos = (long) Math.exp(mu + sigma * gaussian);
+        return Duration.ofNanos(Math.min(nanos, max.toNanos()));
+    }
+}
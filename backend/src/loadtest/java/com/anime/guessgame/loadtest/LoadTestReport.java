@@ -0,0 +1,198 @@
+package com.anime.guessgame.loadtest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects request latencies per endpoint, journey outcomes and samples of
+ * the server's pools during a run, and summarises them.
+ *
+ * Latencies are kept in full (a run is at most a few hundred thousand
+ * requests) so percentiles are exact rather than bucketed.
+ */
+public class LoadTestReport {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, PoolStats> pools = new ConcurrentHashMap<>();
+
+    final AtomicLong journeysStarted = new AtomicLong();
+    final AtomicLong journeysCompleted = new AtomicLong();
+    final AtomicLong journeysFailed = new AtomicLong();
+    /** Arrivals that found every virtual user busy; the target rate was not met */
+    final AtomicLong journeysDropped = new AtomicLong();
+
+    /**
+     * @param status HTTP status, or 0 when the request failed without a response
+     */
+    public void record(String endpoint, long nanos, int status) {
+        endpoints.computeIfAbsent(endpoint, e -> new EndpointStats()).add(nanos, status);
+    }
+
+    /**
+     * Record one sample of the connection pools (per Hikari pool) and of
+     * Tomcat's request threads, from the application's meters.
+     */
+    public void samplePools(MeterRegistry registry) {
+        for (Gauge active : registry.find("hikaricp.connections.active").gauges()) {
+            String pool = active.getId().getTag("pool");
+            pools.computeIfAbsent("hikari " + pool, p -> new PoolStats()).add(
+                    active.value(),
+                    gauge(registry, "hikaricp.connections.pending", pool),
+                    gauge(registry, "hikaricp.connections.max", pool));
+        }
+        Gauge busyThreads = registry.find("tomcat.threads.busy").gauge();
+        Gauge maxThreads = registry.find("tomcat.threads.config.max").gauge();
+        if (busyThreads != null && maxThreads != null) {
+            pools.computeIfAbsent("tomcat threads", p -> new PoolStats()).add(busyThreads.value(), 0, maxThreads.value());
+        }
+    }
+
+    private static double gauge(MeterRegistry registry, String name, String pool) {
+        Gauge gauge = registry.find(name).tag("pool", pool).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+
+    public Map<String, Object> summary(Duration elapsed, Map<String, Object> settings) {
+        double seconds = elapsed.toNanos() / 1e9;
+        long requests = endpoints.values().stream().mapToLong(EndpointStats::count).sum();
+        long errors = endpoints.values().stream().mapToLong(EndpointStats::errors).sum();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("settings", settings);
+        summary.put("elapsedSeconds", round(seconds));
+        Map<String, Object> journeys = new LinkedHashMap<>();
+        journeys.put("started", journeysStarted.get());
+        journeys.put("completed", journeysCompleted.get());
+        journeys.put("failed", journeysFailed.get());
+        journeys.put("dropped", journeysDropped.get());
+        summary.put("journeys", journeys);
+        summary.put("requests", requests);
+        summary.put("throughputPerSecond", round(requests / seconds));
+        summary.put("errorRate", requests == 0 ? 0 : round((double) errors / requests));
+
+        Map<String, Object> perEndpoint = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> perEndpoint.put(endpoint, stats.summary(seconds)));
+        summary.put("endpoints", perEndpoint);
+
+        Map<String, Object> perPool = new TreeMap<>();
+        pools.forEach((pool, stats) -> perPool.put(pool, stats.summary()));
+        summary.put("pools", perPool);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void print(Map<String, Object> summary, PrintStream out) {
+        out.printf("%nJourneys %s, %s requests, %s req/s, error rate %s%n",
+                summary.get("journeys"), summary.get("requests"),
+                summary.get("throughputPerSecond"), summary.get("errorRate"));
+        out.printf("%-28s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        ((Map<String, Map<String, Object>>) summary.get("endpoints")).forEach((endpoint, stats) ->
+                out.printf("%-28s %8s %8s %9s %9s %9s %9s %9s%n", endpoint,
+                        stats.get("count"), stats.get("errors"), stats.get("throughputPerSecond"),
+                        stats.get("p50Ms"), stats.get("p90Ms"), stats.get("p99Ms"), stats.get("maxMs")));
+        out.printf("%-28s %9s %9s %9s %9s %11s%n", "pool", "size", "mean", "max", "pending", "saturated");
+        ((Map<String, Map<String, Object>>) summary.get("pools")).forEach((pool, stats) ->
+                out.printf("%-28s %9s %9s %9s %9s %11s%n", pool,
+                        stats.get("size"), stats.get("meanInUse"), stats.get("maxInUse"),
+                        stats.get("maxPending"), stats.get("saturatedRatio")));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class EndpointStats {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        synchronized void add(long latency, int status) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            statuses.merge(status, 1L, Long::sum);
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long errors() {
+            return statuses.entrySet().stream()
+                    .filter(status -> status.getKey() < 200 || status.getKey() >= 400)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        synchronized Map<String, Object> summary(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", count);
+            summary.put("errors", errors());
+            summary.put("throughputPerSecond", round(count / seconds));
+            summary.put("meanMs", round(Arrays.stream(sorted).average().orElse(0) / 1e6));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p90Ms", percentile(sorted, 0.90));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("p999Ms", percentile(sorted, 0.999));
+            summary.put("maxMs", sorted.length == 0 ? 0 : round(sorted[sorted.length - 1] / 1e6));
+            summary.put("statuses", new TreeMap<>(statuses));
+            return summary;
+        }
+
+        /** Nearest-rank percentile, in milliseconds */
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return round(sorted[Math.max(rank - 1, 0)] / 1e6);
+        }
+    }
+
+    private static final class PoolStats {
+
+        private long samples;
+        private double sumInUse;
+        private double maxInUse;
+        private double maxPending;
+        private double size;
+        private long saturatedSamples;
+
+        synchronized void add(double inUse, double pending, double max) {
+            samples++;
+            sumInUse += inUse;
+            maxInUse = Math.max(maxInUse, inUse);
+            maxPending = Math.max(maxPending, pending);
+            size = Math.max(size, max);
+            if (pending > 0 || (max > 0 && inUse >= max)) {
+                saturatedSamples++;
+            }
+        }
+
+        synchronized Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("size", size);
+            summary.put("meanInUse", round(sumInUse / samples));
+            summary.put("maxInUse", maxInUse);
+            summary.put("maxPending", maxPending);
+            // Share of samples with every slot taken or callers queueing for one
+            summary.put("saturatedRatio", round((double) saturatedSamples / samples));
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.anime.guessgame.loadtest;
+
+import com.anime.guessgame.AnimeGuessGameApplication;
+import com.anime.guessgame.entity.Character;
+import com.anime.guessgame.repository.CharacterRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: boots the application against PostgreSQL (a
+ * Testcontainers instance unless loadtest.datasource.url is given) with
+ * {@link StubChatModel} in place of OpenAI, then starts {@link PlayerJourney}s
+ * at a target arrival rate (Poisson, open model) for the configured duration.
+ *
+ * Prints per-endpoint latency percentiles, error rates and pool saturation,
+ * and writes the same summary as JSON to loadtest.resultFile. Runs with the
+ * same settings (including the seed) make the same requests and see the same
+ * LLM latencies, so results can be compared across commits.
+ *
+ * Arguments are passed on to Spring, e.g. --spring.datasource.hikari.maximum-pool-size=20
+ */
+public final class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+
+        PostgreSQLContainer<?> postgres = null;
+        String jdbcUrl = settings.datasourceUrl();
+        String dbUsername = settings.datasourceUsername();
+        String dbPassword = settings.datasourcePassword();
+        if (jdbcUrl == null) {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("anime_guess_game")
+                    .withUsername("loadtest")
+                    .withPassword("loadtest");
+            postgres.start();
+            jdbcUrl = postgres.getJdbcUrl();
+            dbUsername = postgres.getUsername();
+            dbPassword = postgres.getPassword();
+        }
+
+        StubChatModel chatModel = new StubChatModel(new LatencyDistribution(
+                settings.llmP50(), settings.llmP99(), Duration.ofSeconds(60), settings.seed()));
+
+        List<String> springArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--server.tomcat.mbeanregistry.enabled=true",
+                "--ai.cassette.mode=off",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + dbUsername,
+                "--spring.datasource.password=" + dbPassword,
+                "--spring.flyway.url=" + jdbcUrl,
+                "--spring.flyway.user=" + dbUsername,
+                "--spring.flyway.password=" + dbPassword));
+        springArgs.addAll(List.of(args));
+
+        ApplicationContextInitializer<GenericApplicationContext> stubChatModel = context ->
+                context.registerBean(ChatModel.class, () -> chatModel, definition -> definition.setPrimary(true));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AnimeGuessGameApplication.class)
+                .initializers(stubChatModel)
+                .run(springArgs.toArray(String[]::new))) {
+            run(settings, context, chatModel);
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    private static void run(Settings settings, ConfigurableApplicationContext context, StubChatModel chatModel)
+            throws InterruptedException, IOException {
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<String> characterNames = context.getBean(CharacterRepository.class).findByIsActiveTrue().stream()
+                .map(Character::getName)
+                .sorted()
+                .toList();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        LoadTestReport report = new LoadTestReport();
+
+        // Arrivals beyond maxUsers concurrent journeys are dropped (and counted), not queued
+        AtomicInteger playerThreads = new AtomicInteger();
+        ThreadPoolExecutor players = new ThreadPoolExecutor(settings.maxUsers(), settings.maxUsers(),
+                0, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> new Thread(runnable, "player-" + playerThreads.incrementAndGet()));
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> report.samplePools(meterRegistry), 0, 250, TimeUnit.MILLISECONDS);
+
+        System.out.printf("Load test against %s: %s journeys/s for %s, %d questions each, LLM p50=%s p99=%s%n",
+                baseUrl, settings.arrivalRate(), settings.duration(), settings.questionsPerGame(),
+                settings.llmP50(), settings.llmP99());
+
+        Random arrivals = new Random(settings.seed());
+        long start = System.nanoTime();
+        long end = start + settings.duration().toNanos();
+        long nextArrival = start;
+        int index = 0;
+        while (nextArrival < end) {
+            LockSupport.parkNanos(nextArrival - System.nanoTime());
+            try {
+                players.execute(new PlayerJourney(index++, runId, baseUrl, settings, characterNames,
+                        httpClient, objectMapper, jdbcTemplate, report));
+            } catch (RejectedExecutionException e) {
+                report.journeysDropped.incrementAndGet();
+            }
+            nextArrival += (long) (-Math.log(1 - arrivals.nextDouble()) / settings.arrivalRate() * 1e9);
+        }
+
+        players.shutdown();
+        if (!players.awaitTermination(5, TimeUnit.MINUTES)) {
+            players.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        sampler.shutdownNow();
+
+        Map<String, Object> summary = report.summary(elapsed, settings.describe(chatModel));
+        LoadTestReport.print(summary, System.out);
+
+        Path resultFile = Path.of(settings.resultFile());
+        if (resultFile.getParent() != null) {
+            Files.createDirectories(resultFile.getParent());
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), summary);
+        System.out.println("Results written to " + resultFile.toAbsolutePath());
+    }
+
+    /**
+     * Read from loadtest.* system properties; the loadtest Maven profile
+     * passes them through.
+     */
+    record Settings(double arrivalRate, Duration duration, int maxUsers, int questionsPerGame, Duration thinkTime,
+                    Duration llmP50, Duration llmP99, long seed, String resultFile,
+                    String datasourceUrl, String datasourceUsername, String datasourcePassword) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Double.parseDouble(System.getProperty("loadtest.rate", "5")),
+                    duration("loadtest.duration", "60s"),
+                    Integer.parseInt(System.getProperty("loadtest.max-users", "500")),
+                    Integer.parseInt(System.getProperty("loadtest.questions", "10")),
+                    duration("loadtest.think-time", "2s"),
+                    duration("loadtest.llm.p50", "800ms"),
+                    duration("loadtest.llm.p99", "4s"),
+                    Long.parseLong(System.getProperty("loadtest.seed", "42")),
+                    System.getProperty("loadtest.resultFile", "target/loadtest-result.json"),
+                    emptyToNull(System.getProperty("loadtest.datasource.url")),
+                    System.getProperty("loadtest.datasource.username", ""),
+                    System.getProperty("loadtest.datasource.password", ""));
+        }
+
+        Map<String, Object> describe(StubChatModel chatModel) {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("commit", gitCommit());
+            settings.put("arrivalRatePerSecond", arrivalRate);
+            settings.put("duration", duration.toString());
+            settings.put("maxUsers", maxUsers);
+            settings.put("questionsPerGame", questionsPerGame);
+            settings.put("thinkTime", thinkTime.toString());
+            settings.put("llmP50", llmP50.toString());
+            settings.put("llmP99", llmP99.toString());
+            settings.put("llmCalls", chatModel.getCalls());
+            settings.put("seed", seed);
+            settings.put("cpus", Runtime.getRuntime().availableProcessors());
+            return settings;
+        }
+
+        private static Duration duration(String property, String defaultValue) {
+            return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+        }
+
+        private static String emptyToNull(String value) {
+            return value == null || value.isBlank() ? null : value;
+        }
+
+        private static String gitCommit() {
+            try {
+                Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+                String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+                return git.waitFor() == 0 ? commit : "unknown";
+            } catch (IOException e) {
+                return "unknown";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "unknown";
+            }
+        }
+    }
+}
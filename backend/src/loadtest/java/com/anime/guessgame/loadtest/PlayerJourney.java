@@ -0,0 +1,200 @@
+package com.anime.guessgame.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One virtual player going through the whole game flow over HTTP:
+ * register, verify email, log in, start a game, ask N questions, guess,
+ * then look at the history. Any non-2xx response ends the journey.
+ *
+ * Each journey comes from its own source IP (X-Forwarded-For) as real
+ * players do, so it only uses its own rate-limit buckets.
+ */
+class PlayerJourney implements Runnable {
+
+    private static final String DRAFT_HEADER = "X-Game-Draft";
+    private static final String PASSWORD = "load-test-password";
+
+    private static final List<String> QUESTIONS = List.of(
+            "Are you a pirate?",
+            "Are you a ninja?",
+            "Do you have any special powers?",
+            "Are you the main character of your anime?",
+            "Do you wear a hat?",
+            "Is your hair black?",
+            "Are you older than 20?",
+            "Do you use a sword?",
+            "Are you from a shonen anime?",
+            "Do you have a rival?",
+            "Can you fly?",
+            "Are you part of a team or crew?");
+
+    private final int index;
+    private final String runId;
+    private final String baseUrl;
+    private final LoadTestRunner.Settings settings;
+    private final List<String> characterNames;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestReport report;
+    private final Random random;
+
+    private String clientIp;
+    private String accessToken;
+
+    PlayerJourney(int index, String runId, String baseUrl, LoadTestRunner.Settings settings, List<String> characterNames,
+                  HttpClient httpClient, ObjectMapper objectMapper, JdbcTemplate jdbcTemplate, LoadTestReport report) {
+        this.index = index;
+        this.runId = runId;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.characterNames = characterNames;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.report = report;
+        this.random = new Random(settings.seed() * 31 + index);
+    }
+
+    @Override
+    public void run() {
+        report.journeysStarted.incrementAndGet();
+        try {
+            play();
+            report.journeysCompleted.incrementAndGet();
+        } catch (JourneyFailedException e) {
+            report.journeysFailed.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void play() throws InterruptedException {
+        String username = "lt" + runId + "u" + index;
+        String email = username + "@loadtest.example.com";
+        clientIp = "10." + (index >> 16 & 0xff) + "." + (index >> 8 & 0xff) + "." + (index & 0xff);
+
+        send("POST /api/auth/register", post("/api/auth/register", Map.of(
+                "username", username,
+                "email", email,
+                "password", PASSWORD,
+                "recaptchaToken", "load-test")));
+
+        // The verification email goes out asynchronously; read the link's token as the player's inbox would
+        send("GET /api/auth/verify-email", get("/api/auth/verify-email?token=" + awaitVerificationToken(username)));
+
+        accessToken = send("POST /api/auth/login", post("/api/auth/login", Map.of(
+                "username", username,
+                "password", PASSWORD))).path("token").asText();
+
+        String draftToken = send("POST /api/game/start", post("/api/game/start", Map.of()))
+                .path("draftToken").asText(null);
+
+        for (int i = 0; i < settings.questionsPerGame(); i++) {
+            think();
+            send("POST /api/game/ask", withDraft(post("/api/game/ask", Map.of(
+                    "question", QUESTIONS.get(random.nextInt(QUESTIONS.size())))), draftToken));
+        }
+
+        think();
+        send("POST /api/game/guess", withDraft(post("/api/game/guess", Map.of(
+                "characterName", characterNames.get(random.nextInt(characterNames.size())))), draftToken));
+
+        send("GET /api/game/history", get("/api/game/history"));
+    }
+
+    private String awaitVerificationToken(String username) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            List<String> tokens = jdbcTemplate.queryForList("""
+                    SELECT t.token FROM email_verification_tokens t
+                    JOIN users u ON u.id = t.user_id
+                    WHERE u.username = ?
+                    """, String.class, username);
+            if (!tokens.isEmpty()) {
+                return tokens.get(0);
+            }
+            Thread.sleep(50);
+        }
+        throw new JourneyFailedException();
+    }
+
+    /** Exponentially distributed pause around the configured mean, like a player typing */
+    private void think() {
+        long meanNanos = settings.thinkTime().toNanos();
+        if (meanNanos > 0) {
+            LockSupport.parkNanos((long) (-Math.log(1 - random.nextDouble()) * meanNanos));
+        }
+    }
+
+    private HttpRequest.Builder post(String path, Map<String, String> body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("X-Forwarded-For", clientIp);
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private static HttpRequest.Builder withDraft(HttpRequest.Builder builder, String draftToken) {
+        return draftToken == null ? builder : builder.header(DRAFT_HEADER, draftToken);
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - start, 0);
+            throw new JourneyFailedException();
+        }
+        report.record(endpoint, System.nanoTime() - start, response.statusCode());
+
+        if (response.statusCode() / 100 != 2) {
+            throw new JourneyFailedException();
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new JourneyFailedException();
+        }
+    }
+
+    private static class JourneyFailedException extends RuntimeException {
+
+        JourneyFailedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.anime.guessgame.loadtest;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stands in for OpenAI during load tests. The answer depends only on the
+ * prompt, and the nth call waits for the nth sample of the configured
+ * latency distribution, so runs are repeatable without any network traffic.
+ */
+public class StubChatModel implements ChatModel {
+
+    private static final List<String> ANSWERS = List.of(
+            "Yes, that's right.",
+            "No, that's not me.",
+            "I'm not sure about that.",
+            "Partly! Think about my crew.",
+            "Yes, and I'm proud of it.");
+
+    private final LatencyDistribution latency;
+    private final AtomicLong calls = new AtomicLong();
+
+    public StubChatModel(LatencyDistribution latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Duration delay = latency.sample(calls.getAndIncrement());
+        try {
+            Thread.sleep(delay.toMillis(), delay.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String answer = ANSWERS.get(Math.floorMod(prompt.getContents().hashCode(), ANSWERS.size()));
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(answer))));
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,83 @@
+package com.anime.guessgame.ai;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ChatModel decorator backed by a {@link ChatCassette}.
+ *
+ * RECORD calls the real model and appends each prompt, response and latency
+ * to the cassette. REPLAY never touches the network: it answers from the
+ * cassette after sleeping the recorded latency times {@code latencyScale}
+ * (1 = original timing, 0 = instant), and fails on prompts it has no
+ * recording for.
+ */
+public class CassetteChatModel implements ChatModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(CassetteChatModel.class);
+
+    public enum Mode {
+        RECORD,
+        REPLAY
+    }
+
+    private final Mode mode;
+    private final ChatCassette cassette;
+    private final Supplier<ChatModel> delegate;
+    private final double latencyScale;
+
+    /**
+     * @param delegate the real model; only resolved (on first call) when recording
+     */
+    public CassetteChatModel(Mode mode, ChatCassette cassette, Supplier<ChatModel> delegate, double latencyScale) {
+        this.mode = mode;
+        this.cassette = cassette;
+        this.delegate = delegate;
+        this.latencyScale = latencyScale;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return mode == Mode.RECORD ? record(prompt) : replay(prompt);
+    }
+
+    private ChatResponse record(Prompt prompt) {
+        long start = System.nanoTime();
+        ChatResponse response = delegate.get().call(prompt);
+        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+
+        try {
+            cassette.append(prompt.getContents(), response.getResult().getOutput().getContent(), latency);
+        } catch (IOException e) {
+            // The caller still gets its answer; only the recording is lost
+            logger.error("Could not append to chat cassette {}", cassette.getPath(), e);
+        }
+        return response;
+    }
+
+    private ChatResponse replay(Prompt prompt) {
+        ChatCassette.Recording recording = cassette.find(prompt.getContents())
+                .orElseThrow(() -> new IllegalStateException("No recording in " + cassette.getPath()
+                        + " for this prompt; re-record with ai.cassette.mode=record"));
+
+        long delayNanos = (long) (recording.latency().toNanos() * latencyScale);
+        if (delayNanos > 0) {
+            try {
+                Thread.sleep(delayNanos / 1_000_000, (int) (delayNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(recording.response()))));
+    }
+}
@@ -0,0 +1,208 @@
+package com.anime.guessgame.ai;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only file of recorded chat calls (prompt, response, latency).
+ *
+ * Layout: a 4 byte magic number, then one record per call:
+ * <pre>
+ * int length (of the rest of the record) | long promptHash | long latencyNanos
+ * | int promptBytes | prompt (UTF-8) | int responseBytes | response (UTF-8)
+ * </pre>
+ * For replay the file is memory-mapped and indexed by prompt hash once; a
+ * lookup reads just the matching records from the mapping. A prompt recorded
+ * several times is replayed round-robin. A torn last record (the recorder
+ * was killed mid-write) is ignored.
+ */
+public final class ChatCassette implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatCassette.class);
+
+    private static final int MAGIC = 0x41474331; // "AGC1"
+    private static final int HEADER_BYTES = Integer.BYTES;
+    /** promptHash + latencyNanos + two length prefixes */
+    private static final int FIXED_RECORD_BYTES = 2 * Long.BYTES + 2 * Integer.BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final Map<Long, Entries> index;
+
+    private ChatCassette(Path path, FileChannel channel, MappedByteBuffer mapped, Map<Long, Entries> index) {
+        this.path = path;
+        this.channel = channel;
+        this.mapped = mapped;
+        this.index = index;
+    }
+
+    /**
+     * Open for appending, creating the file if needed.
+     */
+    public static ChatCassette openForRecording(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.allocate(HEADER_BYTES).putInt(0, MAGIC));
+        } else {
+            checkMagic(path, channel);
+        }
+        channel.position(channel.size());
+        return new ChatCassette(path, channel, null, null);
+    }
+
+    /**
+     * Map an existing cassette read-only and index it.
+     */
+    public static ChatCassette openForReplay(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            checkMagic(path, channel);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            Map<Long, List<Integer>> offsets = new HashMap<>();
+            int position = HEADER_BYTES;
+            while (position + Integer.BYTES <= mapped.limit()) {
+                int length = mapped.getInt(position);
+                if (length < FIXED_RECORD_BYTES || position + Integer.BYTES + length > mapped.limit()) {
+                    logger.warn("Ignoring incomplete record at byte {} of {}", position, path);
+                    break;
+                }
+                offsets.computeIfAbsent(mapped.getLong(position + Integer.BYTES), h -> new ArrayList<>())
+                        .add(position);
+                position += Integer.BYTES + length;
+            }
+
+            Map<Long, Entries> index = new HashMap<>();
+            offsets.forEach((hash, list) ->
+                    index.put(hash, new Entries(list.stream().mapToInt(Integer::intValue).toArray())));
+            logger.info("Loaded chat cassette {} ({} distinct prompts)", path, index.size());
+            return new ChatCassette(path, null, mapped, index);
+        }
+    }
+
+    private static void checkMagic(Path path, FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (channel.read(header, 0) != HEADER_BYTES || header.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a chat cassette");
+        }
+    }
+
+    public synchronized void append(String prompt, String response, Duration latency) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException(path + " was opened for replay");
+        }
+        byte[] promptBytes = prompt.getBytes(StandardCharsets.UTF_8);
+        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
+        int length = FIXED_RECORD_BYTES + promptBytes.length + responseBytes.length;
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length)
+                .putInt(length)
+                .putLong(hash(promptBytes))
+                .putLong(latency.toNanos())
+                .putInt(promptBytes.length)
+                .put(promptBytes)
+                .putInt(responseBytes.length)
+                .put(responseBytes)
+                .flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    public Optional<Recording> find(String prompt) {
+        if (index == null) {
+            throw new IllegalStateException(path + " was opened for recording");
+        }
+        byte[] promptBytes = prompt.getBytes(StandardCharsets.UTF_8);
+        Entries entries = index.get(hash(promptBytes));
+        if (entries == null) {
+            return Optional.empty();
+        }
+
+        int start = entries.next.getAndIncrement();
+        for (int i = 0; i < entries.offsets.length; i++) {
+            int offset = entries.offsets[Math.floorMod(start + i, entries.offsets.length)];
+            Recording recording = read(offset, promptBytes);
+            if (recording != null) {
+                return Optional.of(recording);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the record at offset, or null if its prompt differs (hash collision)
+     */
+    private Recording read(int offset, byte[] promptBytes) {
+        ByteBuffer record = mapped.duplicate().position(offset + Integer.BYTES + Long.BYTES);
+        long latencyNanos = record.getLong();
+        int promptLength = record.getInt();
+        if (promptLength != promptBytes.length) {
+            return null;
+        }
+        byte[] storedPrompt = new byte[promptLength];
+        record.get(storedPrompt);
+        if (!Arrays.equals(storedPrompt, promptBytes)) {
+            return null;
+        }
+        byte[] response = new byte[record.getInt()];
+        record.get(response);
+        return new Recording(new String(response, StandardCharsets.UTF_8), Duration.ofNanos(latencyNanos));
+    }
+
+    /** 64-bit FNV-1a */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public record Recording(String response, Duration latency) {
+    }
+
+    private static final class Entries {
+
+        private final int[] offsets;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Entries(int[] offsets) {
+            this.offsets = offsets;
+        }
+    }
+}
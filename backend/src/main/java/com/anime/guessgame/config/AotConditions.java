@@ -0,0 +1,164 @@
+package com.anime.guessgame.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+/**
+ * Spring AOT (the cds and native profiles) evaluates @Profile and
+ * {@code @ConditionalOn...} once, at build time, and the generated bean
+ * definitions ignore the environment they start in. Setting e.g.
+ * DATABASE_REPLICA_URL or MANAGEMENT_OTLP_TRACING_ENDPOINT on such an image
+ * would be silently ignored, so the outcomes of the conditions in
+ * {@link #CONDITIONS} are recorded next to the generated code
+ * ({@link Recorder}) and startup fails when the environment would decide one
+ * differently ({@link Verifier}).
+ *
+ * Only those are checked: this app's own conditions, and the framework ones
+ * that application.yml lets an environment variable flip. Keep the list in
+ * step with the annotations it mirrors; a setting missing from it is frozen
+ * without a warning.
+ */
+public final class AotConditions {
+
+    static final String RESOURCE = "META-INF/aot-conditions.properties";
+
+    static final Map<String, Predicate<Environment>> CONDITIONS = new LinkedHashMap<>();
+
+    static {
+        CONDITIONS.put("profile prod (DataSourceConfig, process-aot)", env -> env.acceptsProfiles(Profiles.of("prod")));
+        CONDITIONS.put("spring.datasource.replica.url (ReadReplicaDataSourceConfig)", set("spring.datasource.replica.url"));
+        CONDITIONS.put("oauth2.enabled (OAuth2Config)", isTrue("oauth2.enabled", false));
+        CONDITIONS.put("ai.cassette.mode (ChatCassetteConfig)",
+                env -> !"off".equals(env.getProperty("ai.cassette.mode", "off")));
+        CONDITIONS.put("jfr.enabled (ContinuousRecording)", notFalse("jfr.enabled"));
+        CONDITIONS.put("tracing.tail-sampling.enabled (TracingConfig)", notFalse("tracing.tail-sampling.enabled"));
+        CONDITIONS.put("tracing.file-export.enabled (TracingConfig)", set("tracing.file-export.enabled"));
+        CONDITIONS.put("digest.weekly.enabled (WeeklyDigestJob)", isTrue("digest.weekly.enabled", false));
+        CONDITIONS.put("maintenance.game-reaper.enabled (AbandonedGameReaperJob)",
+                isTrue("maintenance.game-reaper.enabled", true));
+        CONDITIONS.put("maintenance.question-partitions.enabled (QuestionPartitionJob)",
+                isTrue("maintenance.question-partitions.enabled", true));
+        CONDITIONS.put("maintenance.token-purge.enabled (ExpiredTokenPurgeJob)",
+                isTrue("maintenance.token-purge.enabled", true));
+        // Spring Boot and Sentry auto-configuration switched by environment variables
+        CONDITIONS.put("management.tracing.enabled (Spring Boot tracing)", notFalse("management.tracing.enabled"));
+        CONDITIONS.put("management.otlp.tracing.endpoint (Spring Boot OTLP exporter)",
+                set("management.otlp.tracing.endpoint"));
+        CONDITIONS.put("sentry.dsn (SentryAutoConfiguration)", set("sentry.dsn"));
+    }
+
+    private AotConditions() {
+    }
+
+    static Properties evaluate(Environment environment) {
+        Properties outcomes = new Properties();
+        CONDITIONS.forEach((condition, test) -> outcomes.setProperty(condition, String.valueOf(test.test(environment))));
+        return outcomes;
+    }
+
+    /**
+     * @return one line per condition the environment decides differently from the build
+     */
+    static List<String> mismatches(Properties built, Environment environment) {
+        Properties now = evaluate(environment);
+        List<String> mismatches = new ArrayList<>();
+        for (String condition : CONDITIONS.keySet()) {
+            String builtOutcome = built.getProperty(condition);
+            if (builtOutcome != null && !builtOutcome.equals(now.getProperty(condition))) {
+                mismatches.add("%s: built with %s, environment says %s".formatted(condition, builtOutcome, now.getProperty(condition)));
+            }
+        }
+        return mismatches;
+    }
+
+    /** @ConditionalOnProperty(name) */
+    private static Predicate<Environment> set(String name) {
+        return env -> env.containsProperty(name) && !"false".equalsIgnoreCase(env.getProperty(name));
+    }
+
+    /** @ConditionalOnProperty(name, matchIfMissing = true) */
+    private static Predicate<Environment> notFalse(String name) {
+        return env -> !"false".equalsIgnoreCase(env.getProperty(name, "true"));
+    }
+
+    /** @ConditionalOnProperty(name, havingValue = "true", matchIfMissing) */
+    private static Predicate<Environment> isTrue(String name, boolean matchIfMissing) {
+        return env -> env.containsProperty(name) ? "true".equalsIgnoreCase(env.getProperty(name)) : matchIfMissing;
+    }
+
+    /**
+     * process-aot: writes the outcomes under the build's environment into
+     * the generated resources (registered in META-INF/spring/aot.factories).
+     */
+    public static class Recorder implements BeanFactoryInitializationAotProcessor {
+
+        @Override
+        public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+            Properties outcomes = evaluate(beanFactory.getBean(Environment.class));
+            return (generationContext, code) -> {
+                StringWriter content = new StringWriter();
+                try {
+                    outcomes.store(content, "Conditions evaluated by Spring AOT; checked at startup by AotConditions");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                generationContext.getGeneratedFiles().addResourceFile(RESOURCE, content.toString());
+                generationContext.getRuntimeHints().resources().registerPattern(RESOURCE);
+            };
+        }
+    }
+
+    /**
+     * Startup with -Dspring.aot.enabled=true (or a native image): fails
+     * before any bean is created. Runs after the EnvironmentPostProcessors,
+     * so DATABASE_REPLICA_URL has been converted by then.
+     */
+    public static class Verifier implements ApplicationListener<ApplicationEnvironmentPreparedEvent>, Ordered {
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            ClassPathResource resource = new ClassPathResource(RESOURCE);
+            if (!AotDetector.useGeneratedArtifacts() || !resource.exists()) {
+                return;
+            }
+            Properties built = new Properties();
+            try (InputStream in = resource.getInputStream()) {
+                built.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            List<String> mismatches = mismatches(built, event.getEnvironment());
+            if (!mismatches.isEmpty()) {
+                throw new IllegalStateException("This build evaluated its bean conditions ahead of time and the "
+                        + "environment would now decide them differently:\n  " + String.join("\n  ", mismatches)
+                        + "\nStart with SPRING_AOT_ENABLED=false (-Dspring.aot.enabled=false) to evaluate them at "
+                        + "startup, or rebuild the image with these settings.");
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.anime.guessgame.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async methods. They run on Spring Boot's applicationTaskExecutor,
+ * sized via spring.task.execution in application.yml.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
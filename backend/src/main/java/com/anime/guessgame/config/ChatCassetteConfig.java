@@ -0,0 +1,58 @@
+package com.anime.guessgame.config;
+
+import com.anime.guessgame.ai.CassetteChatModel;
+import com.anime.guessgame.ai.ChatCassette;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Puts a {@link CassetteChatModel} in front of the OpenAI ChatModel when
+ * ai.cassette.mode is record or replay (AI_CASSETTE_MODE). Record captures
+ * real prompts, e.g. from a staging session; replay serves them back for
+ * benchmarks and tests without calling OpenAI.
+ */
+@Configuration
+@ConditionalOnExpression("'${ai.cassette.mode:off}' != 'off'")
+public class ChatCassetteConfig {
+
+    @Value("${ai.cassette.mode}")
+    private CassetteChatModel.Mode mode;
+
+    @Value("${ai.cassette.path}")
+    private String path;
+
+    @Value("${ai.cassette.latency-scale:1.0}")
+    private double latencyScale;
+
+    @Bean(destroyMethod = "close")
+    public ChatCassette chatCassette() throws IOException {
+        return mode == CassetteChatModel.Mode.RECORD
+                ? ChatCassette.openForRecording(Path.of(path))
+                : ChatCassette.openForReplay(Path.of(path));
+    }
+
+    @Bean
+    @Primary
+    public CassetteChatModel cassetteChatModel(ChatCassette chatCassette, ListableBeanFactory beanFactory) {
+        return new CassetteChatModel(mode, chatCassette, () -> recordedChatModel(beanFactory), latencyScale);
+    }
+
+    private static ChatModel recordedChatModel(ListableBeanFactory beanFactory) {
+        List<ChatModel> models = beanFactory.getBeansOfType(ChatModel.class).values().stream()
+                .filter(model -> !(model instanceof CassetteChatModel))
+                .toList();
+        if (models.size() != 1) {
+            throw new IllegalStateException("Recording needs exactly one ChatModel to record, found " + models.size());
+        }
+        return models.get(0);
+    }
+}
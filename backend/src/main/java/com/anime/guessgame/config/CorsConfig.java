@@ -1,5 +1,7 @@
 package com.anime.guessgame.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +15,8 @@ import java.util.List;
 @Configuration
 public class CorsConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(CorsConfig.class);
+
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
 
@@ -31,7 +35,6 @@ public class CorsConfig {
         
         // Parse allowed origins
         List<String> origins = Arrays.asList(allowedOrigins.split(","));
-        System.out.println("CORS Configuration - Allowed Origins: " + origins);
         configuration.setAllowedOrigins(origins);
         
         // Parse allowed methods
@@ -52,9 +55,8 @@ public class CorsConfig {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         
-        System.out.println("CORS Configuration - Methods: " + methods);
-        System.out.println("CORS Configuration - Headers: " + allowedHeaders);
-        System.out.println("CORS Configuration - Allow Credentials: " + allowCredentials);
+        logger.info("CORS allowed origins: {}, methods: {}, headers: {}, credentials: {}",
+                origins, methods, allowedHeaders, allowCredentials);
         
         return source;
     }
@@ -1,12 +1,15 @@
 package com.anime.guessgame.config;
 
+import org.apache.commons.logging.Log;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.Profiles;
 
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,6 +21,13 @@ import java.util.Map;
  */
 public class DatabaseUrlEnvironmentPostProcessor implements EnvironmentPostProcessor {
 
+    /** Logging is not initialized yet; Spring Boot replays these once it is */
+    private final Log log;
+
+    public DatabaseUrlEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(DatabaseUrlEnvironmentPostProcessor.class);
+    }
+
     @Override
     public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
         // Only process in production profile
@@ -27,13 +37,12 @@ public class DatabaseUrlEnvironmentPostProcessor implements EnvironmentPostProce
 
         String databaseUrl = environment.getProperty("DATABASE_URL");
         
-        System.out.println("DatabaseUrlEnvironmentPostProcessor: DATABASE_URL = " + 
-            (databaseUrl != null ? databaseUrl.replaceAll(":[^:@]+@", ":****@") : "null"));
+        log.info("DATABASE_URL = " + (databaseUrl != null ? databaseUrl.replaceAll(":[^:@]+@", ":****@") : "null"));
         
         if (databaseUrl != null && !databaseUrl.isEmpty()) {
             // Check if it's in postgresql:// format (Render format)
             if (databaseUrl.startsWith("postgresql://") || databaseUrl.startsWith("postgres://")) {
-                System.out.println("DatabaseUrlEnvironmentPostProcessor: Detected postgresql:// format, converting...");
+                log.info("Detected postgresql:// format, converting...");
                 try {
                     URI uri = new URI(databaseUrl);
                     String host = uri.getHost();
@@ -41,7 +50,7 @@ public class DatabaseUrlEnvironmentPostProcessor implements EnvironmentPostProce
                     String path = uri.getPath();
                     String dbName = path.startsWith("/") ? path.substring(1) : path;
                     
-                    System.out.println("DatabaseUrlEnvironmentPostProcessor: Parsed - host=" + host + ", port=" + port + ", dbName=" + dbName);
+                    log.info("Parsed - host=" + host + ", port=" + port + ", dbName=" + dbName);
                     
                     // Extract username and password from userInfo
                     String userInfo = uri.getUserInfo();
@@ -53,8 +62,7 @@ public class DatabaseUrlEnvironmentPostProcessor implements EnvironmentPostProce
                         // Convert to JDBC format
                         String jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s", host, port, dbName);
                         
-                        System.out.println("DatabaseUrlEnvironmentPostProcessor: Converted JDBC URL = " + 
-                            jdbcUrl.replaceAll(":[^:@]+@", ":****@"));
+                        log.info("Converted JDBC URL = " + jdbcUrl);
                         
                         Map<String, Object> properties = new HashMap<>();
                         // Set DataSource properties
@@ -74,7 +82,7 @@ public class DatabaseUrlEnvironmentPostProcessor implements EnvironmentPostProce
                             new MapPropertySource("databaseUrlConversion", properties)
                         );
                         
-                        System.out.println("DatabaseUrlEnvironmentPostProcessor: Conversion completed successfully");
+                        log.info("Conversion completed successfully");
                     } else {
                         // If no userInfo, try to use DATABASE_USERNAME and DATABASE_PASSWORD
                         String username = environment.getProperty("DATABASE_USERNAME", "");
@@ -83,8 +91,7 @@ public class DatabaseUrlEnvironmentPostProcessor implements EnvironmentPostProce
                         if (!username.isEmpty() && !password.isEmpty()) {
                             String jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s", host, port, dbName);
                             
-                            System.out.println("DatabaseUrlEnvironmentPostProcessor: Using DATABASE_USERNAME/PASSWORD, JDBC URL = " + 
-                                jdbcUrl.replaceAll(":[^:@]+@", ":****@"));
+                            log.info("Using DATABASE_USERNAME/PASSWORD, JDBC URL = " + jdbcUrl);
                             
                             Map<String, Object> properties = new HashMap<>();
                             properties.put("spring.datasource.url", jdbcUrl);
@@ -99,20 +106,74 @@ public class DatabaseUrlEnvironmentPostProcessor implements EnvironmentPostProce
                                 new MapPropertySource("databaseUrlConversion", properties)
                             );
                         } else {
-                            System.err.println("DatabaseUrlEnvironmentPostProcessor: No credentials found in URL or environment variables");
+                            log.error("No credentials found in DATABASE_URL or DATABASE_USERNAME/PASSWORD");
                         }
                     }
                 } catch (Exception e) {
-                    System.err.println("DatabaseUrlEnvironmentPostProcessor: Failed to parse DATABASE_URL: " + e.getMessage());
-                    System.err.println("DatabaseUrlEnvironmentPostProcessor: DATABASE_URL value: " + databaseUrl);
-                    e.printStackTrace();
+                    log.error("Failed to parse DATABASE_URL "
+                        + databaseUrl.replaceAll(":[^:@]+@", ":****@") + ": " + e.getMessage(), e);
                 }
             } else if (databaseUrl.startsWith("jdbc:postgresql://")) {
-                System.out.println("DatabaseUrlEnvironmentPostProcessor: DATABASE_URL already in JDBC format, no conversion needed");
+                log.info("DATABASE_URL already in JDBC format, no conversion needed");
+            }
+        } else {
+            log.error("DATABASE_URL is null or empty");
+        }
+
+        try {
+            Map<String, Object> replicaProperties = replicaProperties(environment);
+            if (!replicaProperties.isEmpty()) {
+                environment.getPropertySources().addFirst(
+                    new MapPropertySource("databaseReplicaUrlConversion", replicaProperties)
+                );
+                log.info("DATABASE_REPLICA_URL set: routing read-only transactions to the read replica");
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn(e.getMessage() + "; reads stay on the primary");
+        }
+    }
+
+    /**
+     * Converts the optional DATABASE_REPLICA_URL (either format) into
+     * spring.datasource.replica.* properties, which switch on read replica
+     * routing (see ReadReplicaDataSourceConfig). Credentials default to the
+     * primary's when the URL has none.
+     *
+     * @return an empty map when no replica is configured
+     * @throws IllegalArgumentException when the URL cannot be used; the
+     * message does not include it, since it may carry a password
+     */
+    static Map<String, Object> replicaProperties(ConfigurableEnvironment environment) {
+        String replicaUrl = environment.getProperty("DATABASE_REPLICA_URL");
+        Map<String, Object> properties = new HashMap<>();
+        if (replicaUrl == null || replicaUrl.isEmpty()) {
+            return properties;
+        }
+
+        if (replicaUrl.startsWith("jdbc:postgresql://")) {
+            properties.put("spring.datasource.replica.url", replicaUrl);
+        } else if (replicaUrl.startsWith("postgresql://") || replicaUrl.startsWith("postgres://")) {
+            try {
+                URI uri = new URI(replicaUrl);
+                int port = uri.getPort() == -1 ? 5432 : uri.getPort();
+                String path = uri.getPath();
+                String dbName = path.startsWith("/") ? path.substring(1) : path;
+                String jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s", uri.getHost(), port, dbName);
+                properties.put("spring.datasource.replica.url", jdbcUrl);
+
+                String userInfo = uri.getUserInfo();
+                if (userInfo != null && userInfo.contains(":")) {
+                    String[] credentials = userInfo.split(":", 2);
+                    properties.put("spring.datasource.replica.username", credentials[0]);
+                    properties.put("spring.datasource.replica.password", credentials[1]);
+                }
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Could not parse DATABASE_REPLICA_URL");
             }
         } else {
-            System.err.println("DatabaseUrlEnvironmentPostProcessor: DATABASE_URL is null or empty");
+            throw new IllegalArgumentException("Unsupported DATABASE_REPLICA_URL format");
         }
+        return properties;
     }
 }
 
@@ -0,0 +1,36 @@
+package com.anime.guessgame.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+
+/**
+ * The JCache manager behind Hibernate's second-level cache, with the regions
+ * from hibernate-caffeine.conf.
+ *
+ * Hibernate would resolve hibernate.javax.cache.uri to a URL, and Caffeine
+ * only reads file: and classpath: URIs; for a jar: URL (the packaged app, or
+ * the CDS layout in the Dockerfile) it silently falls back to an empty
+ * configuration and startup fails on the first missing region. A classpath:
+ * URI works however the classes are packaged.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final URI CACHE_CONFIG = URI.create("classpath:hibernate-caffeine.conf");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return new CaffeineCachingProvider().getCacheManager(CACHE_CONFIG, HibernateCacheConfig.class.getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,58 @@
+package com.anime.guessgame.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.NativeDetector;
+
+/**
+ * What the native executable (mvn -Pnative) needs beyond the hints Spring
+ * Boot, Spring AI and the GraalVM reachability metadata repository already
+ * contribute for Flyway migrations, entity classes, logback-spring.xml, the
+ * OpenAI client and JJWT (whose implementations Jwts and Keys load by
+ * name). The SendGrid and reCAPTCHA payloads are registered where they are
+ * used (@RegisterReflectionForBinding); Bucket4j's local buckets use no
+ * reflection.
+ *
+ * Experimental: whether these hints are complete is only established by the
+ * native job in backend-ci.yml (NativeImageIntegrationTest).
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+public class NativeImageConfig {
+
+    /**
+     * Hibernate cannot generate proxy classes at runtime in a native image.
+     * The native profile enhances the entities at build time instead, so
+     * lazy associations work without them.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer nativeImageBytecodeCustomizer() {
+        return properties -> {
+            if (NativeDetector.inNativeImage()) {
+                properties.put("hibernate.bytecode.provider", "none");
+            }
+        };
+    }
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Read by HibernateCacheConfig and EmailTemplateEngine; reference.conf is Caffeine's defaults
+            hints.resources()
+                    .registerPattern("hibernate-caffeine.conf")
+                    .registerPattern("reference.conf")
+                    .registerPattern("templates/email/*.html");
+
+            // hibernate.cache.region.factory_class: jcache
+            hints.reflection().registerType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
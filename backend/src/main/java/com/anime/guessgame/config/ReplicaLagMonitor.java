@@ -0,0 +1,75 @@
+package com.anime.guessgame.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica's replay lag; the replica only serves reads while the lag
+ * is below {@code spring.datasource.replica.max-lag} and the last check
+ * succeeded.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /**
+     * 0 on a primary or a replica that has replayed everything it received;
+     * otherwise the age of the last replayed transaction.
+     */
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 'Infinity')
+                   END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+
+    private volatile double lagMillis = Double.POSITIVE_INFINITY;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLag.toMillis();
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:2000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            lagMillis = lag != null ? lag : Double.POSITIVE_INFINITY;
+            usable = lagMillis <= maxLagMillis;
+        } catch (Exception e) {
+            lagMillis = Double.POSITIVE_INFINITY;
+            usable = false;
+            if (wasUsable) {
+                logger.warn("Replica lag check failed: {}", e.getMessage());
+            }
+        }
+
+        if (wasUsable && !usable) {
+            logger.warn("Routing reads to the primary: replica lag {} ms exceeds {} ms", lagMillis, maxLagMillis);
+        } else if (!wasUsable && usable) {
+            logger.info("Replica caught up (lag {} ms); routing read-only transactions to it", lagMillis);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.anime.guessgame.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary.
+ *
+ * Reads stay on the primary when the replica is lagging (see
+ * {@link ReplicaLagMonitor}) and for a short window after the same user (or
+ * the same HTTP request) ran a read-write transaction, so callers always
+ * read their own writes. Only writes made while serving a request count:
+ * scheduled jobs and other background work would otherwise keep reads on
+ * the primary. The window is tracked per instance, so a user's next request
+ * landing on another instance may still read from the lagging replica.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's
+ * read-only flag is only known once the connection is actually used.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final String REQUEST_WROTE_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".WROTE";
+
+    private final BooleanSupplier replicaUsable;
+    private final long readYourWritesMillis;
+
+    /** username -> time of their last read-write transaction */
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    BooleanSupplier replicaUsable, Duration readYourWritesWindow) {
+        this.replicaUsable = replicaUsable;
+        this.readYourWritesMillis = readYourWritesWindow.toMillis();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    public Target currentTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite();
+            }
+            return Target.PRIMARY;
+        }
+        if (wroteRecently() || !replicaUsable.getAsBoolean()) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    /**
+     * Forget writes older than the read-your-writes window.
+     */
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:2000}")
+    public void evictExpiredWrites() {
+        long cutoff = System.currentTimeMillis() - readYourWritesMillis;
+        lastWrites.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private void recordWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return;
+        }
+        request.setAttribute(REQUEST_WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        String username = currentUsername();
+        if (username != null) {
+            lastWrites.put(username, System.currentTimeMillis());
+        }
+    }
+
+    private boolean wroteRecently() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(REQUEST_WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(username);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < readYourWritesMillis;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,12 @@
+package com.anime.guessgame.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (see the job package).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,10 +2,15 @@ package com.anime.guessgame.config;
 
 import com.anime.guessgame.security.JwtAuthenticationFilter;
 import com.anime.guessgame.security.OAuth2AuthenticationSuccessHandler;
+import com.anime.guessgame.security.OperatorPasswordEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,7 +18,10 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -31,7 +39,8 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
-    @Autowired(required = false)
+    @Lazy
+    @Autowired
     private OAuth2AuthenticationSuccessHandler oauth2AuthenticationSuccessHandler;
     
     @Autowired
@@ -40,11 +49,21 @@ public class SecurityConfig {
     @Value("${oauth2.enabled:false}")
     private boolean oauth2Enabled;
 
+    @Value("${management.operator.username:operator}")
+    private String operatorUsername;
+
+    @Value("${management.operator.password:}")
+    private String operatorPassword;
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            // Rehash on login when the configured BCrypt strength changes
+            authProvider.setUserDetailsPasswordService(passwordService);
+        }
         return authProvider;
     }
 
@@ -53,7 +72,47 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Actuator endpoints. Anyone can register a player account, so operator
+     * endpoints take HTTP Basic with the single operator account from
+     * management.operator.* instead of a player JWT; without a password
+     * configured they are closed to everyone. The account has its own
+     * encoder, off the login hashing pool (see OperatorPasswordEncoder).
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        PasswordEncoder passwordEncoder = new OperatorPasswordEncoder();
+        InMemoryUserDetailsManager operators = new InMemoryUserDetailsManager();
+        if (!operatorPassword.isBlank()) {
+            operators.createUser(User.withUsername(operatorUsername)
+                    .password(passwordEncoder.encode(operatorPassword))
+                    .roles("OPERATOR")
+                    .build());
+        }
+        DaoAuthenticationProvider operatorProvider = new DaoAuthenticationProvider();
+        operatorProvider.setUserDetailsService(operators);
+        operatorProvider.setPasswordEncoder(passwordEncoder);
+
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to("jobs")).hasRole("OPERATOR")  // Job history exposes hosts and errors
+                        .requestMatchers(EndpointRequest.to("flightrecording")).hasRole("OPERATOR")  // JVM internals, stack traces and game data
+                        .requestMatchers(EndpointRequest.to("prometheus", "metrics")).hasRole("OPERATOR")  // Traffic, errors and business counters
+                        .requestMatchers(EndpointRequest.to("charactercache")).hasRole("OPERATOR")  // Flushing it sends every /ask to the database
+                        .requestMatchers(EndpointRequest.to("loggers")).hasRole("OPERATOR")  // DEBUG levels log SQL and security details
+                        .anyRequest().permitAll()
+                )
+                .authenticationManager(new ProviderManager(operatorProvider))
+                .httpBasic(basic -> {});
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider daoAuthenticationProvider) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
@@ -78,7 +137,6 @@ public class SecurityConfig {
                         .requestMatchers("/api/contact").permitAll()  // Contact form endpoint
                         .requestMatchers("/login/oauth2/**", "/oauth2/**").permitAll()  // OAuth2 endpoints
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/api/test/**").permitAll()
                         .requestMatchers("/api/characters/all").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Allow all OPTIONS requests for CORS preflight
@@ -89,9 +147,6 @@ public class SecurityConfig {
 
         // Only configure OAuth2 login if enabled
         if (oauth2Enabled) {
-            if (oauth2AuthenticationSuccessHandler == null) {
-                throw new IllegalStateException("OAuth2 is enabled but no success handler is configured.");
-            }
             http.oauth2Login(oauth2 -> oauth2
                     .successHandler(oauth2AuthenticationSuccessHandler)
             );
@@ -0,0 +1,62 @@
+package com.anime.guessgame.config;
+
+import io.sentry.Hint;
+import io.sentry.SentryOptions;
+import io.sentry.SpanStatus;
+import io.sentry.protocol.SentrySpan;
+import io.sentry.protocol.SentryTransaction;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@link TailSamplingSpanProcessor} policy for Sentry transactions: a
+ * finished transaction is sent if it took at least the latency threshold, if
+ * it or one of its spans failed on the server side, or if it falls in the
+ * random baseline. Sentry itself records every transaction
+ * (traces-sample-rate 1.0) and only the kept ones count against the quota.
+ */
+public class SentryTransactionTailSampler implements SentryOptions.BeforeSendTransactionCallback {
+
+    /** Client errors (4xx) are not worth a trace */
+    private static final Set<SpanStatus> SERVER_ERRORS = EnumSet.of(SpanStatus.INTERNAL_ERROR,
+            SpanStatus.UNKNOWN_ERROR, SpanStatus.UNAVAILABLE, SpanStatus.DEADLINE_EXCEEDED,
+            SpanStatus.UNIMPLEMENTED, SpanStatus.DATA_LOSS);
+
+    private final double latencyThresholdSeconds;
+    private final double baselineRatio;
+
+    public SentryTransactionTailSampler(Duration latencyThreshold, double baselineRatio) {
+        this.latencyThresholdSeconds = latencyThreshold.toNanos() / 1e9;
+        this.baselineRatio = baselineRatio;
+    }
+
+    @Override
+    public SentryTransaction execute(SentryTransaction transaction, Hint hint) {
+        if (isError(transaction) || isSlow(transaction)
+                || ThreadLocalRandom.current().nextDouble() < baselineRatio) {
+            return transaction;
+        }
+        return null;
+    }
+
+    private boolean isSlow(SentryTransaction transaction) {
+        Double start = transaction.getStartTimestamp();
+        Double end = transaction.getTimestamp();
+        return start != null && end != null && end - start >= latencyThresholdSeconds;
+    }
+
+    private static boolean isError(SentryTransaction transaction) {
+        if (SERVER_ERRORS.contains(transaction.getStatus())) {
+            return true;
+        }
+        for (SentrySpan span : transaction.getSpans()) {
+            if (SERVER_ERRORS.contains(span.getStatus())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.anime.guessgame.config;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes a SQL statement so that every execution of the same query shape
+ * has the same text: comments go, string and numeric literals become
+ * {@code ?}, IN lists and multi-row VALUES collapse to one element, and
+ * whitespace is squeezed. Used as the db.statement.fingerprint span
+ * attribute (see {@link TracingConfig}).
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile(
+            "(?i)(\\bvalues\\s*\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String fingerprint = COMMENT.matcher(sql).replaceAll(" ");
+        fingerprint = STRING_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = PARAMETER_LIST.matcher(fingerprint).replaceAll("(?+)");
+        fingerprint = VALUES_ROWS.matcher(fingerprint).replaceAll("$1");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+}
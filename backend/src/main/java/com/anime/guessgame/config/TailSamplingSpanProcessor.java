@@ -0,0 +1,259 @@
+package com.anime.guessgame.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tail-based sampling in front of the exporting span processor.
+ *
+ * The spans of each in-flight trace are held until its local root span (the
+ * HTTP request, scheduled task, ...) ends. The whole trace is then passed on
+ * if the root took at least the latency threshold, if any span in it failed,
+ * or if it falls in the random baseline; otherwise it is dropped. Decisions
+ * are counted as tracing.tail.traces (decision slow/error/baseline/dropped).
+ *
+ * Memory is bounded by {@code maxTraces} slots of {@code maxSpansPerTrace}
+ * spans each. A new trace takes a free slot; only when every slot holds an
+ * open trace is the one opened longest ago evicted: its buffered spans are
+ * dropped (tracing.tail.evictions) and only its root is judged. Long
+ * requests, the slow traces this is for, therefore keep their spans as long
+ * as there is room. Spans beyond a full slot are dropped too
+ * (tracing.tail.truncated.spans). Spans that end after their root follow the
+ * decision already made for their trace.
+ *
+ * Needs every span to be recorded, i.e. head sampling at 1.0. The cost of
+ * buffering, including contention on the lock below, is measured by
+ * TailSamplingBenchmark.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    /** Set on HTTP server spans by Spring's observation convention */
+    private static final AttributeKey<String> HTTP_OUTCOME = AttributeKey.stringKey("outcome");
+
+    private final SpanProcessor exporter;
+    private final long latencyThresholdNanos;
+    private final double baselineRatio;
+
+    // Guarded by this; openTraces iterates in the order the traces were opened
+    private final Deque<Slot> freeSlots;
+    private final Map<String, Slot> openTraces;
+    private final Map<String, Boolean> decidedTraces;
+
+    private final Counter keptSlow;
+    private final Counter keptError;
+    private final Counter keptBaseline;
+    private final Counter dropped;
+    private final Counter evictions;
+    private final Counter truncatedSpans;
+
+    public TailSamplingSpanProcessor(SpanProcessor exporter, Duration latencyThreshold, double baselineRatio,
+                                     int maxTraces, int maxSpansPerTrace, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.baselineRatio = baselineRatio;
+
+        freeSlots = new ArrayDeque<>(maxTraces);
+        for (int i = 0; i < maxTraces; i++) {
+            freeSlots.push(new Slot(maxSpansPerTrace));
+        }
+        openTraces = new LinkedHashMap<>(maxTraces * 2);
+        decidedTraces = new LinkedHashMap<>(maxTraces * 2) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxTraces;
+            }
+        };
+
+        keptSlow = decisionCounter("slow", meterRegistry);
+        keptError = decisionCounter("error", meterRegistry);
+        keptBaseline = decisionCounter("baseline", meterRegistry);
+        dropped = decisionCounter("dropped", meterRegistry);
+        evictions = Counter.builder("tracing.tail.evictions")
+                .description("Open traces pushed out of the tail sampling buffer")
+                .register(meterRegistry);
+        truncatedSpans = Counter.builder("tracing.tail.truncated.spans")
+                .description("Spans dropped because their trace's buffer slot was full")
+                .register(meterRegistry);
+    }
+
+    private static Counter decisionCounter(String decision, MeterRegistry meterRegistry) {
+        return Counter.builder("tracing.tail.traces")
+                .description("Tail sampling decisions")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (!span.getSpanContext().isSampled()) {
+            return;
+        }
+        SpanContext parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            onChildEnd(span);
+        } else {
+            onRootEnd(span);
+        }
+    }
+
+    private void onChildEnd(ReadableSpan span) {
+        String traceId = span.getSpanContext().getTraceId();
+        boolean error = isError(span);
+        synchronized (this) {
+            Boolean keep = decidedTraces.get(traceId);
+            if (keep == null) {
+                Slot slot = openTraces.get(traceId);
+                if (slot == null) {
+                    slot = claimSlot(traceId);
+                }
+                if (!slot.add(span, error)) {
+                    truncatedSpans.increment();
+                }
+                return;
+            }
+            if (!keep) {
+                return;
+            }
+        }
+        exporter.onEnd(span);
+    }
+
+    private void onRootEnd(ReadableSpan root) {
+        String traceId = root.getSpanContext().getTraceId();
+        boolean error = isError(root) || "SERVER_ERROR".equals(root.getAttribute(HTTP_OUTCOME));
+        ReadableSpan[] children = null;
+        Counter decision;
+        synchronized (this) {
+            Slot slot = openTraces.remove(traceId);
+            if (slot != null) {
+                error |= slot.error;
+            }
+            decision = decide(root, error);
+            if (slot != null) {
+                if (decision != dropped) {
+                    children = Arrays.copyOf(slot.spans, slot.size);
+                }
+                slot.clear();
+                freeSlots.push(slot);
+            }
+            decidedTraces.put(traceId, decision != dropped);
+        }
+
+        decision.increment();
+        if (decision == dropped) {
+            return;
+        }
+        if (children != null) {
+            for (ReadableSpan child : children) {
+                exporter.onEnd(child);
+            }
+        }
+        exporter.onEnd(root);
+    }
+
+    private Counter decide(ReadableSpan root, boolean error) {
+        if (error) {
+            return keptError;
+        }
+        if (root.getLatencyNanos() >= latencyThresholdNanos) {
+            return keptSlow;
+        }
+        if (ThreadLocalRandom.current().nextDouble() < baselineRatio) {
+            return keptBaseline;
+        }
+        return dropped;
+    }
+
+    private Slot claimSlot(String traceId) {
+        Slot slot = freeSlots.poll();
+        if (slot == null) {
+            Iterator<Slot> oldest = openTraces.values().iterator();
+            slot = oldest.next();
+            oldest.remove();
+            slot.clear();
+            evictions.increment();
+        }
+        slot.traceId = traceId;
+        openTraces.put(traceId, slot);
+        return slot;
+    }
+
+    private static boolean isError(ReadableSpan span) {
+        return span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return exporter.forceFlush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return exporter.shutdown();
+    }
+
+    /**
+     * Buffered spans of one open trace; reused once the trace is decided.
+     */
+    private static final class Slot {
+
+        private final ReadableSpan[] spans;
+        private int size;
+        private boolean error;
+        private String traceId;
+
+        private Slot(int capacity) {
+            spans = new ReadableSpan[capacity];
+        }
+
+        /**
+         * @return false if the slot is full and the span was not kept
+         */
+        private boolean add(ReadableSpan span, boolean spanError) {
+            error |= spanError;
+            if (size == spans.length) {
+                return false;
+            }
+            spans[size++] = span;
+            return true;
+        }
+
+        private void clear() {
+            Arrays.fill(spans, 0, size, null);
+            size = 0;
+            error = false;
+            traceId = null;
+        }
+    }
+}
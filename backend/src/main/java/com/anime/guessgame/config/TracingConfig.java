@@ -0,0 +1,103 @@
+package com.anime.guessgame.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationFilter;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import net.ttddyy.observation.tracing.QueryContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Tracing on top of Spring Boot's OpenTelemetry auto-configuration.
+ *
+ * Spans come from Micrometer observations: HTTP requests, JDBC connections
+ * and statements (datasource-micrometer), and the game.phase, ai.chat.calls,
+ * email.send and recaptcha.verify observations in the services. OTLP export
+ * is enabled by setting management.otlp.tracing.endpoint; for local use,
+ * tracing.file-export.enabled writes every span as OTLP JSON through the
+ * io.opentelemetry.exporter.logging.otlp logger (logs/traces.jsonl outside prod).
+ * Either way, exports go through {@link TailSamplingSpanProcessor} unless
+ * tracing.tail-sampling.enabled is false; Sentry transactions go through
+ * {@link SentryTransactionTailSampler}.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Value("${tracing.tail-sampling.latency-threshold:2s}")
+    private Duration tailSamplingLatencyThreshold;
+
+    @Value("${tracing.tail-sampling.baseline-ratio:0.05}")
+    private double tailSamplingBaselineRatio;
+
+    @Value("${tracing.tail-sampling.max-traces:2048}")
+    private int tailSamplingMaxTraces;
+
+    @Value("${tracing.tail-sampling.max-spans-per-trace:256}")
+    private int tailSamplingMaxSpansPerTrace;
+
+    /**
+     * @Async work (e.g. verification emails) stays in the trace of the
+     * request that scheduled it.
+     */
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    /**
+     * Tags JDBC statement spans with db.statement.fingerprint so that spans
+     * of the same query group together whatever their literals or IN list
+     * sizes.
+     */
+    @Bean
+    public ObservationFilter sqlFingerprintObservationFilter() {
+        return context -> {
+            if (context instanceof QueryContext queryContext && queryContext.getQueries() != null
+                    && !queryContext.getQueries().isEmpty()) {
+                String fingerprint = queryContext.getQueries().stream()
+                        .map(SqlFingerprint::of)
+                        .distinct()
+                        .collect(Collectors.joining("; "));
+                context.addHighCardinalityKeyValue(KeyValue.of("db.statement.fingerprint", fingerprint));
+            }
+            return context;
+        };
+    }
+
+    /**
+     * Replaces Spring Boot's list of span processors: Boot's exporting
+     * BatchSpanProcessor only sees the traces the tail sampler keeps.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "tracing.tail-sampling.enabled", matchIfMissing = true)
+    public SpanProcessors tailSamplingSpanProcessors(BatchSpanProcessor otelSpanProcessor, MeterRegistry meterRegistry) {
+        return SpanProcessors.of(new TailSamplingSpanProcessor(otelSpanProcessor, tailSamplingLatencyThreshold,
+                tailSamplingBaselineRatio, tailSamplingMaxTraces, tailSamplingMaxSpansPerTrace, meterRegistry));
+    }
+
+    /**
+     * Same policy for Sentry performance transactions, picked up by Sentry's
+     * auto-configuration.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "tracing.tail-sampling.enabled", matchIfMissing = true)
+    public SentryTransactionTailSampler sentryTransactionTailSampler() {
+        return new SentryTransactionTailSampler(tailSamplingLatencyThreshold, tailSamplingBaselineRatio);
+    }
+
+    @Bean
+    @ConditionalOnProperty("tracing.file-export.enabled")
+    public SpanExporter fileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -8,7 +8,6 @@ import com.anime.guessgame.dto.PasswordResetRequest;
 import com.anime.guessgame.dto.RegisterRequest;
 import com.anime.guessgame.dto.RegisterWithRecaptchaRequest;
 import com.anime.guessgame.dto.ResendVerificationRequest;
-import com.anime.guessgame.exception.BadRequestException;
 import com.anime.guessgame.service.AuthService;
 import com.anime.guessgame.service.PasswordResetService;
 import com.anime.guessgame.service.RecaptchaService;
@@ -17,9 +16,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "User authentication and registration endpoints")
@@ -28,6 +30,7 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Lazy
     @Autowired
     private RecaptchaService recaptchaService;
 
@@ -40,11 +43,8 @@ public class AuthController {
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Creates a new user account and sends a verification email")
     public ResponseEntity<MessageResponse> register(@Valid @RequestBody RegisterWithRecaptchaRequest request) {
-        boolean isHuman = recaptchaService.verify(request.getRecaptchaToken(), "register");
-
-        if (!isHuman) {
-            throw new BadRequestException("reCAPTCHA verification failed. Please refresh the page and try again.");
-        }
+        // Verification runs while AuthService does its own lookups
+        CompletableFuture<Boolean> isHuman = recaptchaService.verifyAsync(request.getRecaptchaToken(), "register");
 
         RegisterRequest registerRequest = new RegisterRequest(
                 request.getUsername(),
@@ -52,7 +52,7 @@ public class AuthController {
                 request.getPassword()
         );
 
-        return ResponseEntity.ok(authService.register(registerRequest));
+        return ResponseEntity.ok(authService.register(registerRequest, isHuman));
     }
 
     @GetMapping("/verify-email")
@@ -22,6 +22,9 @@ import java.util.List;
 @Tag(name = "Game", description = "Game management and gameplay endpoints")
 public class GameController {
 
+    /** Carries a game draft (see GameService#startNewGame) until its first question or guess */
+    private static final String DRAFT_HEADER = "X-Game-Draft";
+
     @Autowired
     private GameService gameService;
 
@@ -35,22 +38,26 @@ public class GameController {
     @Operation(summary = "Ask a question", description = "Ask a question about the secret character")
     public ResponseEntity<QuestionAnswerResponse> askQuestion(
             @Valid @RequestBody QuestionRequest request,
+            @RequestHeader(value = DRAFT_HEADER, required = false) String draftToken,
             Authentication authentication) {
-        return ResponseEntity.ok(gameService.askQuestion(authentication.getName(), request.getQuestion()));
+        return ResponseEntity.ok(gameService.askQuestion(authentication.getName(), request.getQuestion(), draftToken));
     }
 
     @PostMapping("/guess")
     @Operation(summary = "Submit a guess", description = "Guess the character's name to end the game")
     public ResponseEntity<GameResponse> submitGuess(
             @Valid @RequestBody GuessRequest request,
+            @RequestHeader(value = DRAFT_HEADER, required = false) String draftToken,
             Authentication authentication) {
-        return ResponseEntity.ok(gameService.submitGuess(authentication.getName(), request.getCharacterName()));
+        return ResponseEntity.ok(gameService.submitGuess(authentication.getName(), request.getCharacterName(), draftToken));
     }
 
     @GetMapping("/current")
     @Operation(summary = "Get current game", description = "Retrieves the current active game")
-    public ResponseEntity<GameResponse> getCurrentGame(Authentication authentication) {
-        return ResponseEntity.ok(gameService.getCurrentGame(authentication.getName()));
+    public ResponseEntity<GameResponse> getCurrentGame(
+            @RequestHeader(value = DRAFT_HEADER, required = false) String draftToken,
+            Authentication authentication) {
+        return ResponseEntity.ok(gameService.getCurrentGame(authentication.getName(), draftToken));
     }
 
     @GetMapping("/history")
@@ -25,6 +25,9 @@ public class GameResponse {
     private String revealedCharacter;
     private List<QuestionResponse> conversationHistory;
 
+    /** Set while the game is an unsaved draft; send it back as the X-Game-Draft header */
+    private String draftToken;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,28 @@
+package com.anime.guessgame.email;
+
+import java.util.stream.Stream;
+
+/**
+ * A bulk email (digest, announcement, ...) sent through {@link BulkEmailService}.
+ */
+public interface BulkEmailCampaign {
+
+    /**
+     * Unique key of this send, e.g. "weekly-digest:2026-W42". A run with the
+     * same key resumes from its checkpoint instead of starting over.
+     */
+    String getRunKey();
+
+    String getSubject();
+
+    /**
+     * Shared HTML body containing SendGrid substitution tags (e.g. -username-).
+     */
+    String getHtmlContent();
+
+    /**
+     * Recipients with a user id greater than {@code afterUserId}, ordered by
+     * user id. Called inside a read-only transaction.
+     */
+    Stream<BulkEmailRecipient> streamRecipients(long afterUserId);
+}
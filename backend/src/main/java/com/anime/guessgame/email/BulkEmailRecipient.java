@@ -0,0 +1,20 @@
+package com.anime.guessgame.email;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * One personalization in a bulk send. Substitution values are inserted
+ * verbatim by SendGrid, so they must already be HTML-escaped.
+ */
+@Data
+@AllArgsConstructor
+public class BulkEmailRecipient {
+
+    private Long userId;
+    private String email;
+    private Map<String, String> substitutions;
+
+}
@@ -0,0 +1,277 @@
+package com.anime.guessgame.email;
+
+import com.anime.guessgame.entity.BulkEmailRun;
+import com.anime.guessgame.repository.BulkEmailRunRepository;
+import com.sendgrid.Client;
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import org.apache.http.impl.client.HttpClients;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Bulk Email Service
+ *
+ * Sends one email to many users with SendGrid personalizations:
+ * - Recipients are streamed from a server-side cursor
+ * - Up to 1,000 personalizations per SendGrid request
+ * - A bounded number of requests in flight
+ * - Progress checkpointed in bulk_email_runs so a crashed run resumes
+ *
+ * Checkpoints only advance over batches that finished in order, so after a
+ * crash at most {@code parallelism} batches can be delivered twice.
+ *
+ * Lazy; the SendGrid client is created when WeeklyDigestJob first runs.
+ */
+@Service
+@Lazy
+@RegisterReflectionForBinding(Mail.class)
+public class BulkEmailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkEmailService.class);
+
+    /** SendGrid's hard limit per mail/send request. */
+    private static final int MAX_PERSONALIZATIONS = 1000;
+
+    @Value("${sendgrid.api-key:}")
+    private String apiKey;
+
+    @Value("${sendgrid.from-email:info@animeguess.ca}")
+    private String fromEmail;
+
+    @Value("${sendgrid.from-name:Anime Guess Game}")
+    private String fromName;
+
+    @Value("${sendgrid.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sendgrid.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${sendgrid.bulk.parallelism:4}")
+    private int parallelism;
+
+    @Autowired
+    private BulkEmailRunRepository runRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    private SendGrid sendGrid;
+
+    @PostConstruct
+    void init() {
+        batchSize = Math.max(1, Math.min(batchSize, MAX_PERSONALIZATIONS));
+        parallelism = Math.max(1, parallelism);
+
+        // The default SendGrid client allows only two connections per route
+        Client client = new Client(HttpClients.custom()
+                .setMaxConnPerRoute(parallelism)
+                .setMaxConnTotal(parallelism)
+                .build());
+        sendGrid = new SendGrid(apiKey, client);
+    }
+
+    /**
+     * Send (or resume sending) a campaign. Returns the final run state.
+     */
+    public BulkEmailRun send(BulkEmailCampaign campaign) {
+        BulkEmailRun run = startOrResume(campaign.getRunKey());
+        if (run.getStatus() == BulkEmailRun.RunStatus.COMPLETED) {
+            logger.info("Bulk email run {} already completed, skipping", run.getRunKey());
+            return run;
+        }
+        if (!enabled) {
+            // Not COMPLETED: the run resumes from its checkpoint once sending is enabled
+            logger.warn("Bulk email run {} not sent: SendGrid is disabled", run.getRunKey());
+            return finish(run.getId(), BulkEmailRun.RunStatus.FAILED, "SendGrid is disabled (sendgrid.enabled=false)");
+        }
+
+        logger.info("Bulk email run {} starting after user {}", run.getRunKey(), run.getLastUserId());
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                r -> new Thread(r, "bulk-email-" + threadCounter.incrementAndGet()));
+
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> streamAndSend(campaign, run, executor));
+
+            return finish(run.getId(), BulkEmailRun.RunStatus.COMPLETED, null);
+        } catch (RuntimeException e) {
+            logger.error("Bulk email run {} failed; it will resume from its last checkpoint", run.getRunKey(), e);
+            return finish(run.getId(), BulkEmailRun.RunStatus.FAILED, e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void streamAndSend(BulkEmailCampaign campaign, BulkEmailRun run, ExecutorService executor) {
+        Deque<PendingBatch> inFlight = new ArrayDeque<>();
+        String subject = campaign.getSubject();
+        String html = campaign.getHtmlContent();
+
+        try (Stream<BulkEmailRecipient> recipients = campaign.streamRecipients(run.getLastUserId())) {
+            Iterator<BulkEmailRecipient> iterator = recipients.iterator();
+            List<BulkEmailRecipient> batch = new ArrayList<>(batchSize);
+
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    submit(run, subject, html, batch, executor, inFlight);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(run, subject, html, batch, executor, inFlight);
+            }
+        }
+
+        while (!inFlight.isEmpty()) {
+            completeOldest(run, inFlight);
+        }
+    }
+
+    private void submit(BulkEmailRun run, String subject, String html, List<BulkEmailRecipient> batch,
+                        ExecutorService executor, Deque<PendingBatch> inFlight) {
+        if (inFlight.size() >= parallelism) {
+            completeOldest(run, inFlight);
+        }
+
+        Long lastUserId = batch.get(batch.size() - 1).getUserId();
+        Future<?> future = executor.submit(() -> sendBatch(subject, html, batch));
+        inFlight.addLast(new PendingBatch(future, lastUserId, batch.size()));
+    }
+
+    private void completeOldest(BulkEmailRun run, Deque<PendingBatch> inFlight) {
+        PendingBatch oldest = inFlight.removeFirst();
+        try {
+            oldest.future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bulk email batch", e);
+        }
+
+        runRepository.advanceCheckpoint(run.getId(), oldest.lastUserId, oldest.size);
+        logger.debug("Bulk email run {} checkpointed at user {}", run.getRunKey(), oldest.lastUserId);
+    }
+
+    private void sendBatch(String subject, String html, List<BulkEmailRecipient> batch) {
+        Mail mail = new Mail();
+        mail.setFrom(new Email(fromEmail, fromName));
+        mail.setSubject(subject);
+        mail.addContent(new Content("text/html", html));
+
+        for (BulkEmailRecipient recipient : batch) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(recipient.getEmail()));
+            recipient.getSubstitutions().forEach(personalization::addSubstitution);
+            mail.addPersonalization(personalization);
+        }
+
+        // Observed alongside EmailService's single sends, as type "bulk"
+        Observation observation = Observation.createNotStarted("email.send", observationRegistry)
+                .contextualName("send bulk email batch")
+                .lowCardinalityKeyValue("type", "bulk")
+                .lowCardinalityKeyValue("outcome", "failed")
+                .highCardinalityKeyValue("recipients", String.valueOf(batch.size()))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Request request = new Request();
+            request.setMethod(Method.POST);
+            request.setEndpoint("mail/send");
+            request.setBody(mail.build());
+
+            Response response = sendGrid.api(request);
+            if (response.getStatusCode() < 200 || response.getStatusCode() >= 300) {
+                throw new IllegalStateException("SendGrid rejected bulk batch. Status: "
+                        + response.getStatusCode() + ", Body: " + response.getBody());
+            }
+            observation.lowCardinalityKeyValue("outcome", "sent");
+            logger.info("Bulk email batch sent: {} to {} recipients", subject, batch.size());
+        } catch (IOException e) {
+            observation.error(e);
+            throw new UncheckedIOException("Error sending bulk email batch", e);
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private BulkEmailRun startOrResume(String runKey) {
+        BulkEmailRun run = runRepository.findByRunKey(runKey)
+                .orElseGet(() -> BulkEmailRun.builder()
+                        .runKey(runKey)
+                        .status(BulkEmailRun.RunStatus.RUNNING)
+                        .build());
+
+        if (run.getStatus() == BulkEmailRun.RunStatus.FAILED) {
+            run.setStatus(BulkEmailRun.RunStatus.RUNNING);
+            run.setLastError(null);
+        }
+        return runRepository.save(run);
+    }
+
+    private BulkEmailRun finish(Long runId, BulkEmailRun.RunStatus status, String error) {
+        BulkEmailRun run = runRepository.findById(runId).orElseThrow();
+        run.setStatus(status);
+        run.setLastError(error);
+        if (status == BulkEmailRun.RunStatus.COMPLETED) {
+            run.setCompletedAt(LocalDateTime.now());
+            logger.info("Bulk email run {} completed: {} recipients", run.getRunKey(), run.getSentCount());
+        }
+        return runRepository.save(run);
+    }
+
+    private static final class PendingBatch {
+        private final Future<?> future;
+        private final Long lastUserId;
+        private final int size;
+
+        private PendingBatch(Future<?> future, Long lastUserId, int size) {
+            this.future = future;
+            this.lastUserId = lastUserId;
+            this.size = size;
+        }
+    }
+}
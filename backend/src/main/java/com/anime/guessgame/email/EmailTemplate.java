@@ -0,0 +1,117 @@
+package com.anime.guessgame.email;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Email template compiled once into literal and placeholder segments.
+ *
+ * Syntax:
+ * - {{name}}   value is HTML-escaped
+ * - {{{name}}} value is inserted as-is (caller is responsible for escaping)
+ *
+ * Everything else, including CSS braces, is copied through verbatim.
+ */
+public final class EmailTemplate {
+
+    private final String name;
+    private final String[] literals;
+    private final String[] keys;
+    private final boolean[] raw;
+    private final int literalLength;
+
+    private EmailTemplate(String name, String[] literals, String[] keys, boolean[] raw) {
+        this.name = name;
+        this.literals = literals;
+        this.keys = keys;
+        this.raw = raw;
+        this.literalLength = Arrays.stream(literals).mapToInt(String::length).sum();
+    }
+
+    public static EmailTemplate compile(String name, String source) {
+        StringBuilder literal = new StringBuilder();
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<Boolean> rawFlags = new ArrayList<>();
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0) {
+                literal.append(source, pos, source.length());
+                break;
+            }
+            literal.append(source, pos, open);
+
+            boolean isRaw = source.startsWith("{{{", open);
+            String closeToken = isRaw ? "}}}" : "}}";
+            int keyStart = open + (isRaw ? 3 : 2);
+            int close = source.indexOf(closeToken, keyStart);
+            if (close < 0) {
+                throw new IllegalArgumentException(
+                        "Unclosed placeholder in email template '" + name + "' at offset " + open);
+            }
+
+            String key = source.substring(keyStart, close).trim();
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "Empty placeholder in email template '" + name + "' at offset " + open);
+            }
+
+            literals.add(literal.toString());
+            literal.setLength(0);
+            keys.add(key);
+            rawFlags.add(isRaw);
+            pos = close + closeToken.length();
+        }
+        literals.add(literal.toString());
+
+        boolean[] raw = new boolean[rawFlags.size()];
+        for (int i = 0; i < raw.length; i++) {
+            raw[i] = rawFlags.get(i);
+        }
+
+        return new EmailTemplate(name, literals.toArray(new String[0]), keys.toArray(new String[0]), raw);
+    }
+
+    /**
+     * Render into the given buffer. Missing values are a programming error
+     * (templates and callers live side by side), so they fail loudly.
+     */
+    public void renderTo(Map<String, ?> values, StringBuilder out) {
+        out.ensureCapacity(out.length() + literalLength + keys.length * 32);
+        for (int i = 0; i < keys.length; i++) {
+            out.append(literals[i]);
+            Object value = values.get(keys[i]);
+            if (value == null) {
+                throw new IllegalStateException(
+                        "Missing value for '" + keys[i] + "' in email template '" + name + "'");
+            }
+            if (raw[i]) {
+                out.append(value);
+            } else {
+                HtmlEscaper.escape(value.toString(), out);
+            }
+        }
+        out.append(literals[keys.length]);
+    }
+
+    public String render(Map<String, ?> values) {
+        StringBuilder out = new StringBuilder(literalLength + keys.length * 32);
+        renderTo(values, out);
+        return out.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getKeys() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(keys)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.anime.guessgame.email;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email Template Engine
+ *
+ * Loads HTML templates from classpath:templates/email/, compiles each one
+ * once and renders into a per-thread reusable buffer.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateEngine.class);
+
+    static final String TEMPLATE_LOCATION = "templates/email/";
+    private static final String TEMPLATE_SUFFIX = ".html";
+
+    /** Buffers that grew past this are dropped instead of being pinned to the thread. */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    /**
+     * Compile every template at startup so a broken template fails the boot,
+     * not the first user who triggers that email.
+     */
+    @PostConstruct
+    public void preloadTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:" + TEMPLATE_LOCATION + "*" + TEMPLATE_SUFFIX);
+
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            if (filename == null) {
+                continue;
+            }
+            String name = filename.substring(0, filename.length() - TEMPLATE_SUFFIX.length());
+            templates.computeIfAbsent(name, n -> compile(n, resource));
+        }
+        logger.info("Compiled {} email templates", templates.size());
+    }
+
+    public String render(String templateName, Map<String, ?> values) {
+        EmailTemplate template = getTemplate(templateName);
+
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        try {
+            template.renderTo(values, buffer);
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                buffers.remove();
+            } else {
+                buffer.setLength(0);
+            }
+        }
+    }
+
+    public EmailTemplate getTemplate(String templateName) {
+        return templates.computeIfAbsent(templateName,
+                name -> compile(name, new ClassPathResource(TEMPLATE_LOCATION + name + TEMPLATE_SUFFIX)));
+    }
+
+    private EmailTemplate compile(String name, Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return EmailTemplate.compile(name, source);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load email template: " + name, e);
+        }
+    }
+}
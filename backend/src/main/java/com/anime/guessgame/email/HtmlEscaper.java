@@ -0,0 +1,34 @@
+package com.anime.guessgame.email;
+
+/**
+ * Minimal HTML escaper used by email templates.
+ *
+ * Appends directly into the caller's buffer so rendering does not
+ * allocate an intermediate string per substituted value.
+ */
+public final class HtmlEscaper {
+
+    private HtmlEscaper() {
+    }
+
+    public static void escape(CharSequence value, StringBuilder out) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    public static String escape(CharSequence value) {
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        escape(value, out);
+        return out.toString();
+    }
+}
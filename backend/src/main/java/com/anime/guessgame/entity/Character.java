@@ -1,11 +1,14 @@
 package com.anime.guessgame.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,14 +16,22 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Read-mostly: cached in the Hibernate second-level cache ("characters"
+ * region, see hibernate-caffeine.conf).
+ */
 @Entity
 @Table(name = "characters")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Character.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Character {
 
+    public static final String CACHE_REGION = "characters";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -82,6 +93,7 @@ public class Character {
     private LocalDateTime updatedAt;
 
     @OneToMany(mappedBy = "character", cascade = CascadeType.ALL)
+    @JsonIgnore // Characters are served as-is by CharacterController; never drag every game along
     @Builder.Default
     private List<Game> games = new ArrayList<>();
 
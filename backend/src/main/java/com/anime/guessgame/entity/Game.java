@@ -43,6 +43,10 @@ public class Game {
     @Column(name = "started_at", nullable = false, updatable = false)
     private LocalDateTime startedAt;
 
+    /** The draft's issue time, copied from its token when the game is persisted */
+    @Column(name = "draft_issued_at", updatable = false)
+    private LocalDateTime draftIssuedAt;
+
     @Column(name = "ended_at")
     private LocalDateTime endedAt;
 
@@ -54,6 +58,7 @@ public class Game {
     private String finalGuess;
 
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("askedAt ASC")
     @Builder.Default
     private List<Question> questions = new ArrayList<>();
 
@@ -0,0 +1,51 @@
+package com.anime.guessgame.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversation history of a game whose question partition was archived
+ * (see QuestionArchiveService). Written only by the archiver's SQL.
+ */
+@Entity
+@Table(name = "game_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameArchive {
+
+    @Id
+    @Column(name = "game_id")
+    private Long gameId;
+
+    @Column(name = "question_count", nullable = false)
+    private Integer questionCount;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    @Builder.Default
+    private List<ArchivedQuestion> questions = new ArrayList<>();
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ArchivedQuestion {
+        private String question;
+        private String answer;
+        private LocalDateTime askedAt;
+    }
+
+}
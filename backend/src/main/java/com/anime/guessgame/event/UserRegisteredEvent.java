@@ -0,0 +1,20 @@
+package com.anime.guessgame.event;
+
+import com.anime.guessgame.entity.User;
+
+/**
+ * Published by AuthService once a new account has been inserted.
+ * Listeners that do I/O should run after commit and off the request thread.
+ */
+public class UserRegisteredEvent {
+
+    private final User user;
+
+    public UserRegisteredEvent(User user) {
+        this.user = user;
+    }
+
+    public User getUser() {
+        return user;
+    }
+}
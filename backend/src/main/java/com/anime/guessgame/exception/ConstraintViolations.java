@@ -0,0 +1,28 @@
+package com.anime.guessgame.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Tells which database constraint a {@link DataIntegrityViolationException}
+ * broke, so that only the expected unique violation is mapped to a
+ * conflict and anything else (a foreign key, NOT NULL) is rethrown.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Whether the violation is on the named constraint. Uses Hibernate's
+     * constraint name where it extracted one, else the driver's message.
+     */
+    public static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().contains(constraintName);
+            }
+        }
+        return String.valueOf(e.getMostSpecificCause().getMessage()).contains(constraintName);
+    }
+}
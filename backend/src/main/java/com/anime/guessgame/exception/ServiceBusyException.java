@@ -0,0 +1,16 @@
+package com.anime.guessgame.exception;
+
+/**
+ * Exception thrown when a bounded resource (e.g. the password hashing pool)
+ * is saturated and the request is shed instead of queued.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
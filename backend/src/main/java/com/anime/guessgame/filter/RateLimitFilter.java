@@ -1,8 +1,11 @@
 package com.anime.guessgame.filter;
 
 import com.anime.guessgame.config.RateLimitConfig;
+import com.anime.guessgame.jfr.RateLimitRejectedEvent;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,6 +34,9 @@ public class RateLimitFilter extends OncePerRequestFilter {
     @Autowired
     private RateLimitConfig rateLimitConfig;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -65,6 +71,17 @@ public class RateLimitFilter extends OncePerRequestFilter {
             long waitForRefill = probe.getNanosToWaitForRefill() / 1_000_000_000;
             
             logger.warn("Rate limit exceeded for user: {} on endpoint: {}", key, path);
+            Counter.builder("ratelimit.rejections")
+                    .description("Requests rejected with 429, per bucket type")
+                    .tag("bucket", bucketType.name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+            RateLimitRejectedEvent event = new RateLimitRejectedEvent();
+            if (event.shouldCommit()) {
+                event.setBucket(bucketType.name().toLowerCase());
+                event.setPath(path);
+                event.commit();
+            }
             
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setContentType("application/json");
@@ -0,0 +1,87 @@
+package com.anime.guessgame.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Always-on JDK Flight Recorder recording: the JDK's low-overhead "default"
+ * settings (GC, locks, safepoints, sampled stacks, ...) plus this app's own
+ * events (QuestionAsked, GameStarted, GameEnded, RateLimitRejected,
+ * EmailDispatched). Recorded to the JFR disk repository, which drops chunks
+ * older than jfr.max-age or beyond jfr.max-size; dumped on demand at
+ * /actuator/flightrecording.
+ *
+ * Environment variables and system properties are left out of the
+ * recording, since they hold credentials.
+ *
+ * Recording starts once the application is ready. Starting Flight Recorder
+ * makes every later class load more expensive (more so with the CDS archive
+ * from the Dockerfile), which added about a third to a cold start when this
+ * ran during startup; it also keeps JFR out of the CDS training run, which
+ * exits before the application is ready.
+ */
+@Component
+@ConditionalOnProperty(value = "jfr.enabled", matchIfMissing = true)
+public class ContinuousRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    @Value("${jfr.settings:default}")
+    private String settings;
+
+    @Value("${jfr.max-age:6h}")
+    private Duration maxAge;
+
+    @Value("${jfr.max-size:256MB}")
+    private DataSize maxSize;
+
+    private Recording recording;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() throws IOException, ParseException {
+        Map<String, String> recordingSettings = new HashMap<>(Configuration.getConfiguration(settings).getSettings());
+        recordingSettings.put("jdk.InitialEnvironmentVariable#enabled", "false");
+        recordingSettings.put("jdk.InitialSystemProperty#enabled", "false");
+
+        recording = new Recording(recordingSettings);
+        recording.setName("anime-guess-game");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        logger.info("Flight recording started ({} settings, keeping {} / {})", settings, maxAge, maxSize);
+    }
+
+    /**
+     * Write everything still retained (up to max-age / max-size) to a file.
+     */
+    public void dump(Path destination) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording starts once the application is ready");
+        }
+        recording.dump(destination);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.anime.guessgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * One SendGrid round trip; the event duration is its latency.
+ */
+@Name("com.anime.guessgame.EmailDispatched")
+@Label("Email Dispatched")
+@Category("Anime Guess Game")
+@StackTrace(false)
+@Setter
+public class EmailDispatchedEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    @Description("Email template")
+    private String type;
+
+    @Label("Outcome")
+    @Description("sent or failed")
+    private String outcome;
+
+    @Label("Status Code")
+    @Description("SendGrid HTTP status, 0 if the request failed")
+    private int statusCode;
+}
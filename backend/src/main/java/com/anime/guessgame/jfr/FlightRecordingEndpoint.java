@@ -0,0 +1,68 @@
+package com.anime.guessgame.jfr;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * /actuator/flightrecording: the continuous recording as a .jfr file, for
+ * JDK Mission Control or {@code jfr print}, to line up slow questions and
+ * rate limiting with GC pauses, lock contention and CPU samples. Operator
+ * account only (SecurityConfig), e.g.
+ * {@code curl -u operator:$MANAGEMENT_OPERATOR_PASSWORD -o app.jfr .../actuator/flightrecording}.
+ */
+@Component
+@ConditionalOnProperty(value = "jfr.enabled", matchIfMissing = true)
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    @Autowired
+    private ContinuousRecording continuousRecording;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump() throws IOException {
+        Path file = Files.createTempFile("anime-guess-game-", ".jfr");
+        try {
+            continuousRecording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new TemporaryFileResource(file.toFile());
+    }
+
+    /**
+     * Deleted once the response has been streamed.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
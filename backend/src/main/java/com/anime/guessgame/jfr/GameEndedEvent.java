@@ -0,0 +1,32 @@
+package com.anime.guessgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * A game ended by a guess, or abandoned for a new one.
+ */
+@Name("com.anime.guessgame.GameEnded")
+@Label("Game Ended")
+@Category("Anime Guess Game")
+@StackTrace(false)
+@Setter
+public class GameEndedEvent extends jdk.jfr.Event {
+
+    @Label("Game Id")
+    private long gameId;
+
+    @Label("Character Id")
+    private long characterId;
+
+    @Label("Result")
+    @Description("WON, LOST or ABANDONED")
+    private String result;
+
+    @Label("Questions")
+    private int questionsCount;
+}
@@ -0,0 +1,24 @@
+package com.anime.guessgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * A new game drafted for a player.
+ */
+@Name("com.anime.guessgame.GameStarted")
+@Label("Game Started")
+@Category("Anime Guess Game")
+@StackTrace(false)
+@Setter
+public class GameStartedEvent extends jdk.jfr.Event {
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Character")
+    private String character;
+}
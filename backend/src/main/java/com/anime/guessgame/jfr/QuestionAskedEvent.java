@@ -0,0 +1,34 @@
+package com.anime.guessgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * One chat model call answering a player's question; the event duration is
+ * the model latency.
+ */
+@Name("com.anime.guessgame.QuestionAsked")
+@Label("Question Asked")
+@Description("Chat model call answering a question")
+@Category("Anime Guess Game")
+@StackTrace(false)
+@Setter
+public class QuestionAskedEvent extends jdk.jfr.Event {
+
+    @Label("Character")
+    private String character;
+
+    @Label("Outcome")
+    @Description("success or error")
+    private String outcome;
+
+    @Label("Prompt Tokens")
+    private long promptTokens;
+
+    @Label("Completion Tokens")
+    private long completionTokens;
+}
@@ -0,0 +1,24 @@
+package com.anime.guessgame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * A request answered with 429 by RateLimitFilter.
+ */
+@Name("com.anime.guessgame.RateLimitRejected")
+@Label("Rate Limit Rejected")
+@Category("Anime Guess Game")
+@StackTrace(false)
+@Setter
+public class RateLimitRejectedEvent extends jdk.jfr.Event {
+
+    @Label("Bucket")
+    private String bucket;
+
+    @Label("Path")
+    private String path;
+}
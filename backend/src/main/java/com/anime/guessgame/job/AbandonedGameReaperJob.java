@@ -0,0 +1,61 @@
+package com.anime.guessgame.job;
+
+import com.anime.guessgame.service.GameService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Ends games that were started (or last asked a question) longer than
+ * idle-timeout ago and never finished, so the ACTIVE slice stays small.
+ */
+@Component
+@ConditionalOnProperty(name = "maintenance.game-reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class AbandonedGameReaperJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbandonedGameReaperJob.class);
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ClusterJobRunner clusterJobRunner;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${maintenance.game-reaper.idle-timeout:6h}")
+    private Duration idleTimeout;
+
+    @Value("${maintenance.game-reaper.batch-size:1000}")
+    private int batchSize;
+
+    private Counter reapedCounter;
+
+    @PostConstruct
+    void init() {
+        reapedCounter = Counter.builder("games.reaped")
+                .description("Abandoned ACTIVE games ended by the reaper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${maintenance.game-reaper.cron:0 */15 * * * *}", zone = "UTC")
+    public void reapAbandonedGames() {
+        clusterJobRunner.runExclusive("abandoned-game-reaper", () -> {
+            int reaped = gameService.reapAbandonedGames(idleTimeout, batchSize);
+            reapedCounter.increment(reaped);
+            if (reaped > 0) {
+                logger.info("Ended {} games idle for more than {}", reaped, idleTimeout);
+            }
+        });
+    }
+}
@@ -0,0 +1,195 @@
+package com.anime.guessgame.job;
+
+import com.anime.guessgame.entity.JobRun;
+import com.anime.guessgame.repository.JobRunRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scheduled jobs on exactly one backend replica at a time.
+ *
+ * Every node fires its @Scheduled methods; each run first takes a
+ * session-level PostgreSQL advisory lock keyed by the job name on a dedicated
+ * connection. Nodes that lose the race skip the run. If the owner dies, its
+ * session ends and PostgreSQL releases the lock, so no lease ever outlives
+ * its holder.
+ *
+ * The winner records the run in job_runs (exposed at /actuator/jobs).
+ */
+@Component
+public class ClusterJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterJobRunner.class);
+
+    /** First half of the two-int advisory lock key, so job leases can't collide with other advisory locks */
+    private static final int LOCK_NAMESPACE = 0x4A4F4253; // "JOBS"
+
+    private static final int MAX_ERROR_LENGTH = 4000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jobs.node-id:}")
+    private String nodeId;
+
+    @Value("${jobs.stuck-after:1h}")
+    private Duration stuckAfter;
+
+    @Value("${jobs.history-retention:30d}")
+    private Duration historyRetention;
+
+    /**
+     * Run the task if no other node is running the same job.
+     *
+     * @return false if another node holds the lease (or it could not be taken)
+     */
+    public boolean runExclusive(String jobName, Runnable task) {
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!tryLock(lockConnection, jobName)) {
+                logger.debug("Skipping job {}: running on another node", jobName);
+                meterRegistry.counter("jobs.skipped", "job", jobName).increment();
+                return false;
+            }
+            try {
+                execute(jobName, task);
+            } finally {
+                unlock(lockConnection, jobName);
+            }
+            return true;
+        } catch (SQLException e) {
+            logger.error("Could not take lease for job {}", jobName, e);
+            return false;
+        }
+    }
+
+    private void execute(String jobName, Runnable task) {
+        JobRun run = jobRunRepository.save(JobRun.builder()
+                .jobName(jobName)
+                .node(getNodeId())
+                .status(JobRun.RunStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        long start = System.nanoTime();
+        try {
+            task.run();
+            run.setStatus(JobRun.RunStatus.SUCCEEDED);
+        } catch (RuntimeException e) {
+            logger.error("Job {} failed", jobName, e);
+            run.setStatus(JobRun.RunStatus.FAILED);
+            run.setError(truncate(e.toString()));
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            run.setFinishedAt(LocalDateTime.now());
+            run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            // Finish the row before the lease is released, so the stuck-run check never sees it RUNNING and unlocked
+            jobRunRepository.save(run);
+            meterRegistry.timer("jobs.run.duration", "job", jobName, "outcome", run.getStatus().name())
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Find runs still marked RUNNING after stuck-after. If the lease is free,
+     * the node that owned the run died: mark it ABANDONED. If it is still held,
+     * the job really is hung, so raise the alarm.
+     */
+    @Scheduled(fixedDelayString = "${jobs.stuck-check-interval-ms:300000}",
+               initialDelayString = "${jobs.stuck-check-interval-ms:300000}")
+    public void detectStuckRuns() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(stuckAfter);
+
+        for (JobRun run : jobRunRepository.findByStatusAndStartedAtBefore(JobRun.RunStatus.RUNNING, cutoff)) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (tryLock(connection, run.getJobName())) {
+                    try {
+                        run.setStatus(JobRun.RunStatus.ABANDONED);
+                        run.setFinishedAt(LocalDateTime.now());
+                        run.setError("Lease lost without the run finishing (node " + run.getNode() + " stopped?)");
+                        jobRunRepository.save(run);
+                        logger.warn("Job {} run {} on {} was abandoned", run.getJobName(), run.getId(), run.getNode());
+                    } finally {
+                        unlock(connection, run.getJobName());
+                    }
+                } else {
+                    meterRegistry.counter("jobs.stuck", "job", run.getJobName()).increment();
+                    logger.warn("Job {} has been running on {} since {}: possibly stuck",
+                            run.getJobName(), run.getNode(), run.getStartedAt());
+                }
+            } catch (SQLException e) {
+                logger.error("Could not check job {} for a stuck run", run.getJobName(), e);
+            }
+        }
+
+        jobRunRepository.deleteFinishedBefore(LocalDateTime.now().minus(historyRetention));
+    }
+
+    public Duration getStuckAfter() {
+        return stuckAfter;
+    }
+
+    private boolean tryLock(Connection connection, String jobName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT pg_try_advisory_lock(?, hashtext(?))")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, jobName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection, String jobName) {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT pg_advisory_unlock(?, hashtext(?))")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, jobName);
+            statement.execute();
+        } catch (SQLException e) {
+            // The pooled connection may still hold the lock; drop it rather than hand it to someone else
+            logger.error("Could not release lease for job {}", jobName, e);
+            try {
+                connection.abort(Runnable::run);
+            } catch (SQLException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+        }
+    }
+
+    private String getNodeId() {
+        if (nodeId == null || nodeId.isBlank()) {
+            try {
+                nodeId = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                nodeId = "unknown";
+            }
+        }
+        return nodeId;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,76 @@
+package com.anime.guessgame.job;
+
+import com.anime.guessgame.service.EmailVerificationService;
+import com.anime.guessgame.service.PasswordResetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Deletes expired email verification and password reset tokens.
+ *
+ * Each table is purged with set-based DELETEs of at most batch-size rows
+ * (driven by the expires_at indexes), each in its own transaction, so a
+ * backlog of millions of stale rows never holds long locks or touches the heap.
+ */
+@Component
+@ConditionalOnProperty(name = "maintenance.token-purge.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredTokenPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredTokenPurgeJob.class);
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClusterJobRunner clusterJobRunner;
+
+    @Value("${maintenance.token-purge.batch-size:5000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${maintenance.token-purge.cron:0 15 * * * *}", zone = "UTC")
+    public void purgeExpiredTokens() {
+        clusterJobRunner.runExclusive("expired-token-purge", () -> {
+            boolean ok = purge("email_verification", emailVerificationService::purgeExpiredTokens);
+            ok &= purge("password_reset", passwordResetService::purgeExpiredTokens);
+            if (!ok) {
+                throw new IllegalStateException("Expired token purge failed; see earlier errors");
+            }
+        });
+    }
+
+    /**
+     * @return false if the purge failed part-way
+     */
+    private boolean purge(String tokenType, IntUnaryOperator purger) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            int purged = purger.applyAsInt(batchSize);
+            meterRegistry.counter("maintenance.tokens.purged", "type", tokenType).increment(purged);
+            if (purged > 0) {
+                logger.info("Purged {} expired {} tokens", purged, tokenType);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // Rows deleted by earlier chunks stay deleted; the next run continues from there
+            logger.error("Failed to purge expired {} tokens", tokenType, e);
+            return false;
+        } finally {
+            sample.stop(meterRegistry.timer("maintenance.token.purge.duration", "type", tokenType));
+        }
+    }
+}
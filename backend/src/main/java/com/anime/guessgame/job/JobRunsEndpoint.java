@@ -0,0 +1,49 @@
+package com.anime.guessgame.job;
+
+import com.anime.guessgame.entity.JobRun;
+import com.anime.guessgame.repository.JobRunRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/jobs: latest run of every scheduled job, and
+ * /actuator/jobs/{jobName}: its recent history.
+ */
+@Component
+@Endpoint(id = "jobs")
+public class JobRunsEndpoint {
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private ClusterJobRunner clusterJobRunner;
+
+    @ReadOperation
+    public Map<String, JobSummary> jobs() {
+        LocalDateTime stuckCutoff = LocalDateTime.now().minus(clusterJobRunner.getStuckAfter());
+
+        Map<String, JobSummary> summaries = new LinkedHashMap<>();
+        for (JobRun run : jobRunRepository.findLatestPerJob()) {
+            boolean stuck = run.getStatus() == JobRun.RunStatus.RUNNING && run.getStartedAt().isBefore(stuckCutoff);
+            summaries.put(run.getJobName(), new JobSummary(run, stuck));
+        }
+        return summaries;
+    }
+
+    @ReadOperation
+    public List<JobRun> history(@Selector String jobName) {
+        return jobRunRepository.findTop20ByJobNameOrderByStartedAtDesc(jobName);
+    }
+
+    public record JobSummary(JobRun lastRun, boolean stuck) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.anime.guessgame.job;
+
+import com.anime.guessgame.service.QuestionArchiveService;
+import com.anime.guessgame.service.QuestionArchiveService.ArchiveResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Daily upkeep of the monthly questions partitions: create the coming
+ * months, archive and drop the ones past retention.
+ */
+@Component
+@ConditionalOnProperty(name = "maintenance.question-partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class QuestionPartitionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionPartitionJob.class);
+
+    @Autowired
+    private QuestionArchiveService questionArchiveService;
+
+    @Autowired
+    private ClusterJobRunner clusterJobRunner;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${maintenance.question-partitions.retention-months:6}")
+    private int retentionMonths;
+
+    @Value("${maintenance.question-partitions.archive-batch-size:500}")
+    private int archiveBatchSize;
+
+    @Scheduled(cron = "${maintenance.question-partitions.cron:0 30 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        clusterJobRunner.runExclusive("question-partitions", () -> {
+            questionArchiveService.createFuturePartitions();
+
+            ArchiveResult result = questionArchiveService.archiveOldPartitions(retentionMonths, archiveBatchSize);
+            meterRegistry.counter("questions.archived.games").increment(result.archivedGames());
+            meterRegistry.counter("questions.partitions.dropped").increment(result.droppedPartitions().size());
+            if (!result.droppedPartitions().isEmpty()) {
+                logger.info("Archived {} games and dropped partitions {}",
+                        result.archivedGames(), result.droppedPartitions());
+            }
+        });
+    }
+}
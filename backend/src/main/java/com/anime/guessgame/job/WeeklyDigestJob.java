@@ -0,0 +1,106 @@
+package com.anime.guessgame.job;
+
+import com.anime.guessgame.email.BulkEmailCampaign;
+import com.anime.guessgame.email.BulkEmailRecipient;
+import com.anime.guessgame.email.BulkEmailService;
+import com.anime.guessgame.email.EmailTemplateEngine;
+import com.anime.guessgame.entity.BulkEmailRun;
+import com.anime.guessgame.email.HtmlEscaper;
+import com.anime.guessgame.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.IsoFields;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Weekly stats digest for players who were active in the last 7 days.
+ *
+ * One run per ISO week: if the job crashes or is re-triggered in the same
+ * week, BulkEmailService resumes the existing run instead of re-sending.
+ */
+@Component
+@ConditionalOnProperty(name = "digest.weekly.enabled", havingValue = "true")
+public class WeeklyDigestJob {
+
+    private static final String TEMPLATE = "weekly-digest";
+
+    @Lazy
+    @Autowired
+    private BulkEmailService bulkEmailService;
+
+    @Autowired
+    private EmailTemplateEngine templateEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClusterJobRunner clusterJobRunner;
+
+    @Value("${app.frontend-url:https://your-frontend-url.vercel.app}")
+    private String frontendUrl;
+
+    @Scheduled(cron = "${digest.weekly.cron:0 0 17 * * SUN}", zone = "UTC")
+    public void sendWeeklyDigest() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String runKey = String.format("weekly-digest:%d-W%02d",
+                today.get(IsoFields.WEEK_BASED_YEAR), today.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        LocalDateTime since = today.minusDays(7).atStartOfDay();
+
+        clusterJobRunner.runExclusive("weekly-digest", () -> {
+            BulkEmailRun run = bulkEmailService.send(new WeeklyDigestCampaign(runKey, since));
+            if (run.getStatus() == BulkEmailRun.RunStatus.FAILED) {
+                throw new IllegalStateException("Bulk email run " + runKey + " failed: " + run.getLastError());
+            }
+        });
+    }
+
+    private class WeeklyDigestCampaign implements BulkEmailCampaign {
+
+        private final String runKey;
+        private final LocalDateTime since;
+
+        private WeeklyDigestCampaign(String runKey, LocalDateTime since) {
+            this.runKey = runKey;
+            this.since = since;
+        }
+
+        @Override
+        public String getRunKey() {
+            return runKey;
+        }
+
+        @Override
+        public String getSubject() {
+            return "📊 Your weekly Anime Guess Game stats";
+        }
+
+        @Override
+        public String getHtmlContent() {
+            // Per-recipient values stay as SendGrid substitution tags
+            return templateEngine.render(TEMPLATE, Map.of(
+                    "username", "-username-",
+                    "gamesPlayed", "-gamesPlayed-",
+                    "gamesWon", "-gamesWon-",
+                    "frontendUrl", frontendUrl));
+        }
+
+        @Override
+        public Stream<BulkEmailRecipient> streamRecipients(long afterUserId) {
+            return userRepository.streamDigestRecipients(since, afterUserId)
+                    .map(r -> new BulkEmailRecipient(r.getUserId(), r.getEmail(), Map.of(
+                            "-username-", HtmlEscaper.escape(r.getUsername()),
+                            "-gamesPlayed-", String.valueOf(r.getGamesPlayed()),
+                            "-gamesWon-", String.valueOf(r.getGamesWon()))));
+        }
+    }
+}
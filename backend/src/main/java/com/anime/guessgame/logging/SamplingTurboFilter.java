@@ -0,0 +1,69 @@
+package com.anime.guessgame.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a random {@code ratio} of the events of a noisy logger (and its
+ * children) at or below {@code maxLevel}, dropping the rest before the event
+ * is even built. Configured per logger in logback-spring.xml:
+ *
+ * <pre>
+ * &lt;turboFilter class="com.anime.guessgame.logging.SamplingTurboFilter"&gt;
+ *     &lt;loggerName&gt;org.hibernate.SQL&lt;/loggerName&gt;
+ *     &lt;ratio&gt;0.01&lt;/ratio&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ *
+ * isXxxEnabled() checks are never sampled, so a guarded log statement is
+ * sampled once, not twice.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String loggerName;
+    private String loggerPrefix;
+    private double ratio = 1.0;
+    private Level maxLevel = Level.INFO;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level.toInt() > maxLevel.toInt() || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL; // disabled anyway
+        }
+        return ThreadLocalRandom.current().nextDouble() < ratio ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        return name.startsWith(loggerPrefix) || name.equals(loggerName);
+    }
+
+    @Override
+    public void start() {
+        if (loggerName == null) {
+            addError("No loggerName set for SamplingTurboFilter " + getName());
+            return;
+        }
+        loggerPrefix = loggerName + ".";
+        super.start();
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+}
@@ -0,0 +1,31 @@
+package com.anime.guessgame.repository;
+
+import com.anime.guessgame.entity.BulkEmailRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface BulkEmailRunRepository extends JpaRepository<BulkEmailRun, Long> {
+
+    Optional<BulkEmailRun> findByRunKey(String runKey);
+
+    /**
+     * Runs in its own transaction so checkpoints commit while the
+     * recipient cursor's read-only transaction is still open.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE BulkEmailRun r SET r.lastUserId = :lastUserId, r.sentCount = r.sentCount + :sent, " +
+           "r.updatedAt = CURRENT_TIMESTAMP WHERE r.id = :runId")
+    int advanceCheckpoint(@Param("runId") Long runId,
+                          @Param("lastUserId") Long lastUserId,
+                          @Param("sent") int sent);
+
+}
@@ -1,8 +1,11 @@
 package com.anime.guessgame.repository;
 
 import com.anime.guessgame.entity.Character;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +14,13 @@ import java.util.Optional;
 @Repository
 public interface CharacterRepository extends JpaRepository<Character, Long> {
 
+    String ACTIVE_CHARACTERS_CACHE_REGION = "characters-active";
+
+    /** Served from the query cache; invalidated by Hibernate whenever the characters table is written through it */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ACTIVE_CHARACTERS_CACHE_REGION)
+    })
     List<Character> findByIsActiveTrue();
 
     Optional<Character> findByName(String name);
@@ -2,8 +2,15 @@ package com.anime.guessgame.repository;
 
 import com.anime.guessgame.entity.EmailVerificationToken;
 import com.anime.guessgame.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -15,7 +22,26 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
 
     void deleteByUser(User user);
 
-    void deleteByExpiresAtBefore(LocalDateTime cutoff);
+    /**
+     * Delete at most {@code batchSize} tokens that expired before the cutoff,
+     * in a single statement and its own short transaction. Rows locked by a
+     * concurrent request are skipped and picked up by a later run.
+     *
+     * @return number of rows deleted; less than batchSize means nothing is left
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "email_verification_tokens"))
+    @Query(value = """
+            DELETE FROM email_verification_tokens
+            WHERE id IN (
+                SELECT id FROM email_verification_tokens
+                WHERE expires_at < :cutoff
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
 
 
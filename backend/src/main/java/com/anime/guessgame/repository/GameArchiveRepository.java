@@ -0,0 +1,9 @@
+package com.anime.guessgame.repository;
+
+import com.anime.guessgame.entity.GameArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GameArchiveRepository extends JpaRepository<GameArchive, Long> {
+}
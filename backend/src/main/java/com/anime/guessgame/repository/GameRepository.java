@@ -2,11 +2,18 @@ package com.anime.guessgame.repository;
 
 import com.anime.guessgame.entity.Game;
 import com.anime.guessgame.entity.Game.GameStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,13 +22,65 @@ public interface GameRepository extends JpaRepository<Game, Long> {
 
     List<Game> findByUserId(Long userId);
 
+    /** Game history in one query: questions and character fetched along */
+    @EntityGraph(attributePaths = {"questions", "character"})
+    @Query("SELECT g FROM Game g WHERE g.user.id = :userId")
+    List<Game> findHistoryByUserId(@Param("userId") Long userId);
+
     List<Game> findByUserIdAndStatus(Long userId, GameStatus status);
 
     @Query("SELECT g FROM Game g WHERE g.user.id = :userId AND g.status = 'ACTIVE' ORDER BY g.startedAt DESC")
     Optional<Game> findActiveGameByUserId(@Param("userId") Long userId);
 
+    // Fetch plans for the active game: each use case loads what its response needs
+
+    /** Asking a question: the character answers */
+    @EntityGraph(attributePaths = "character")
+    @Query("SELECT g FROM Game g WHERE g.user.id = :userId AND g.status = 'ACTIVE' ORDER BY g.startedAt DESC")
+    Optional<Game> findActiveGameWithCharacterByUserId(@Param("userId") Long userId);
+
+    /** Current game: the conversation so far (the character stays hidden) */
+    @EntityGraph(attributePaths = "questions")
+    @Query("SELECT g FROM Game g WHERE g.user.id = :userId AND g.status = 'ACTIVE' ORDER BY g.startedAt DESC")
+    Optional<Game> findActiveGameWithQuestionsByUserId(@Param("userId") Long userId);
+
+    /** Guessing: the character is checked and revealed along with the conversation */
+    @EntityGraph(attributePaths = {"character", "questions"})
+    @Query("SELECT g FROM Game g WHERE g.user.id = :userId AND g.status = 'ACTIVE' ORDER BY g.startedAt DESC")
+    Optional<Game> findActiveGameWithCharacterAndQuestionsByUserId(@Param("userId") Long userId);
+
+    /** True once the draft issued at {@code issuedAt} (or a newer one) has been persisted */
+    boolean existsByUserIdAndDraftIssuedAtGreaterThanEqual(Long userId, LocalDateTime issuedAt);
+
     @Query("SELECT g FROM Game g LEFT JOIN FETCH g.questions WHERE g.id = :gameId")
     Optional<Game> findByIdWithQuestions(@Param("gameId") Long gameId);
 
+    /**
+     * End at most {@code batchSize} ACTIVE games with no activity (start or
+     * question) since the cutoff, as LOST, in one statement and transaction.
+     * Games a live request has locked are skipped.
+     *
+     * @return number of games ended; less than batchSize means nothing is left
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "games"))
+    @Query(value = """
+            UPDATE games SET status = 'LOST', ended_at = :endedAt
+            WHERE id IN (
+                SELECT g.id FROM games g
+                WHERE g.status = 'ACTIVE'
+                  AND g.started_at < :cutoff
+                  AND NOT EXISTS (
+                      SELECT 1 FROM questions q WHERE q.game_id = g.id AND q.asked_at >= :cutoff
+                  )
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int endIdleActiveGames(@Param("cutoff") LocalDateTime cutoff,
+                           @Param("endedAt") LocalDateTime endedAt,
+                           @Param("batchSize") int batchSize);
+
 }
 
@@ -0,0 +1,31 @@
+package com.anime.guessgame.repository;
+
+import com.anime.guessgame.entity.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    /** Most recent run of every job that has ever run */
+    @Query(value = "SELECT DISTINCT ON (job_name) * FROM job_runs ORDER BY job_name, started_at DESC",
+           nativeQuery = true)
+    List<JobRun> findLatestPerJob();
+
+    List<JobRun> findTop20ByJobNameOrderByStartedAtDesc(String jobName);
+
+    List<JobRun> findByStatusAndStartedAtBefore(JobRun.RunStatus status, LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JobRun r WHERE r.startedAt < :cutoff AND r.finishedAt IS NOT NULL")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+}
@@ -1,10 +1,17 @@
 package com.anime.guessgame.repository;
 
 import com.anime.guessgame.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -17,5 +24,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmail(String email);
 
-}
+    /**
+     * Verified users who played since the given time, with their stats for
+     * that window, ordered by id so bulk sends can checkpoint on the last id.
+     *
+     * Must be consumed inside a transaction: the fetch size hint makes the
+     * PostgreSQL driver use a server-side cursor instead of buffering every row.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+            SELECT u.id AS userId, u.username AS username, u.email AS email,
+                   COUNT(g.id) AS gamesPlayed,
+                   COUNT(g.id) FILTER (WHERE g.status = 'WON') AS gamesWon
+            FROM users u
+            JOIN games g ON g.user_id = u.id AND g.started_at >= :since
+            WHERE u.email_verified = true AND u.id > :afterUserId
+            GROUP BY u.id, u.username, u.email
+            ORDER BY u.id
+            """, nativeQuery = true)
+    Stream<DigestRecipient> streamDigestRecipients(@Param("since") LocalDateTime since,
+                                                   @Param("afterUserId") Long afterUserId);
+
+    interface DigestRecipient {
+        Long getUserId();
+
+        String getUsername();
+
+        String getEmail();
+
+        Long getGamesPlayed();
+
+        Long getGamesWon();
+    }
 
+}
@@ -0,0 +1,119 @@
+package com.anime.guessgame.security;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and reads game draft tokens.
+ *
+ * A draft is a started game that has not been persisted yet (see
+ * GameService). The client carries it between requests, so any replica can
+ * pick it up. The token is AES-GCM encrypted, not just signed: it contains
+ * the character id, which must stay secret until the game ends.
+ */
+@Component
+public class GameDraftTokenProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameDraftTokenProvider.class);
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int PAYLOAD_LENGTH = 3 * Long.BYTES;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${game.draft.ttl:24h}")
+    private Duration ttl;
+
+    private SecretKey key;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        // Derived, so a draft token can never be mistaken for (or used as) a JWT
+        byte[] keyBytes = MessageDigest.getInstance("SHA-256")
+                .digest(("game-draft|" + jwtSecret).getBytes(StandardCharsets.UTF_8));
+        key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    public String createToken(GameDraft draft) {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .putLong(draft.userId())
+                .putLong(draft.characterId())
+                .putLong(draft.startedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(payload.array());
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    ByteBuffer.allocate(IV_LENGTH + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not create game draft token", e);
+        }
+    }
+
+    /**
+     * @return the draft, or empty if the token is missing, tampered with or expired
+     */
+    public Optional<GameDraft> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            if (bytes.length <= IV_LENGTH) {
+                return Optional.empty();
+            }
+
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_LENGTH));
+            ByteBuffer payload = ByteBuffer.wrap(cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH));
+            if (payload.remaining() != PAYLOAD_LENGTH) {
+                return Optional.empty();
+            }
+
+            GameDraft draft = new GameDraft(payload.getLong(), payload.getLong(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(payload.getLong()), ZoneOffset.UTC));
+            if (draft.startedAt().isBefore(LocalDateTime.now().minus(ttl))) {
+                return Optional.empty();
+            }
+            return Optional.of(draft);
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            logger.warn("Invalid game draft token");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A started, not yet persisted game.
+     */
+    public record GameDraft(Long userId, Long characterId, LocalDateTime startedAt) {
+    }
+}
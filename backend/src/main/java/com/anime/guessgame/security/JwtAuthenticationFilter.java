@@ -1,11 +1,13 @@
 package com.anime.guessgame.security;
 
+import com.anime.guessgame.filter.RequestMdcFilter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -44,6 +46,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (userDetails instanceof UserPrincipal principal) {
+                    // The id, not the username: it is in every log line, and logs must not carry PII
+                    MDC.put(RequestMdcFilter.USER_ID, String.valueOf(principal.getId()));
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -6,6 +6,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,7 +20,12 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.UUID;
 
+/**
+ * Issues our JWT after a successful OAuth2 login. SecurityConfig holds a
+ * lazy proxy, so this is only created on the first Google sign-in.
+ */
 @Component
+@Lazy
 public class OAuth2AuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
     private final UserRepository userRepository;
@@ -0,0 +1,42 @@
+package com.anime.guessgame.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * PasswordEncoder for the operator account on the actuator endpoints.
+ *
+ * The operator password is a configured secret, not a player's choice, and
+ * never leaves memory, so a slow hash buys nothing. Prometheus sends it on
+ * every scrape: through BoundedPasswordEncoder each scrape would be a BCrypt
+ * on the login hashing pool and be shed with the logins exactly when that
+ * pool is saturated. This compares SHA-256 digests in constant time instead.
+ */
+public class OperatorPasswordEncoder implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return HexFormat.of().formatHex(digest(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(encode(rawPassword).getBytes(StandardCharsets.US_ASCII),
+                encodedPassword.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] digest(CharSequence rawPassword) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
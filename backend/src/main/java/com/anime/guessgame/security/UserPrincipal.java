@@ -0,0 +1,23 @@
+package com.anime.guessgame.security;
+
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * The authenticated player, with the id that goes into the log MDC in place
+ * of the username (see JwtAuthenticationFilter).
+ */
+public class UserPrincipal extends User {
+
+    private final Long id;
+
+    public UserPrincipal(Long id, String username, String password) {
+        super(username, password, List.of());
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
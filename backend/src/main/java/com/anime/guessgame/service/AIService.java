@@ -1,9 +1,16 @@
 package com.anime.guessgame.service;
 
 import com.anime.guessgame.entity.Character;
+import com.anime.guessgame.jfr.QuestionAskedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +27,12 @@ public class AIService {
     @Autowired
     private ChatModel chatModel;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     private static final String SYSTEM_PROMPT_TEMPLATE = """
             You are playing a guessing game where the user is trying to figure out which anime character you are.
             
@@ -44,20 +57,14 @@ public class AIService {
 
     public String answerQuestion(String question, Character character) {
         try {
-            logger.info("Processing question for character: {}", character.getName());
-
-            Map<String, Object> promptVariables = new HashMap<>();
-            promptVariables.put("characterName", character.getName());
-            promptVariables.put("anime", character.getAnime());
-            promptVariables.put("characterData", character.getFullCharacterData());
-            promptVariables.put("question", question);
+            logger.debug("Processing question for character: {}", character.getName());
 
-            PromptTemplate promptTemplate = new PromptTemplate(SYSTEM_PROMPT_TEMPLATE);
-            Prompt prompt = promptTemplate.create(promptVariables);
+            Prompt prompt = buildPrompt(question, character);
 
-            String response = chatModel.call(prompt).getResult().getOutput().getContent();
+            ChatResponse chatResponse = callChatModel(prompt, character);
+            String response = chatResponse.getResult().getOutput().getContent();
             
-            logger.info("AI response generated successfully");
+            logger.debug("AI response generated successfully");
             return response;
 
         } catch (Exception e) {
@@ -66,5 +73,79 @@ public class AIService {
         }
     }
 
+    /**
+     * The model call alone, observed as ai.chat.calls (outcome success/error):
+     * a timer, and a span carrying the character and token counts. Also
+     * recorded as a QuestionAsked flight recorder event.
+     */
+    private ChatResponse callChatModel(Prompt prompt, Character character) {
+        Observation observation = Observation.createNotStarted("ai.chat.calls", observationRegistry)
+                .contextualName("chat model call")
+                .lowCardinalityKeyValue("outcome", "error")
+                .highCardinalityKeyValue("character", character.getName())
+                .start();
+        QuestionAskedEvent event = new QuestionAskedEvent();
+        event.setCharacter(character.getName());
+        event.setOutcome("error");
+        event.begin();
+        try (Observation.Scope scope = observation.openScope()) {
+            ChatResponse response = chatModel.call(prompt);
+            observation.lowCardinalityKeyValue("outcome", "success");
+            event.setOutcome("success");
+            recordTokenUsage(character, response, observation, event);
+            return response;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+            event.commit();
+        }
+    }
+
+    /**
+     * Prompt and completion tokens per character (ai.chat.tokens), as
+     * reported by the model; replayed and stubbed responses report none. The
+     * character tag is bounded by the characters table, which the
+     * second-level cache already sizes at 5000 at most.
+     */
+    private void recordTokenUsage(Character character, ChatResponse response, Observation observation,
+                                  QuestionAskedEvent event) {
+        Usage usage = response.getMetadata() == null ? null : response.getMetadata().getUsage();
+        if (usage == null) {
+            return;
+        }
+        countTokens(character, "prompt", usage.getPromptTokens(), observation);
+        countTokens(character, "completion", usage.getGenerationTokens(), observation);
+        event.setPromptTokens(usage.getPromptTokens() == null ? 0 : usage.getPromptTokens());
+        event.setCompletionTokens(usage.getGenerationTokens() == null ? 0 : usage.getGenerationTokens());
+    }
+
+    private void countTokens(Character character, String type, Long tokens, Observation observation) {
+        if (tokens != null && tokens > 0) {
+            observation.highCardinalityKeyValue("tokens." + type, tokens.toString());
+            Counter.builder("ai.chat.tokens")
+                    .description("Model tokens used, per character")
+                    .tag("character", character.getName())
+                    .tag("type", type)
+                    .register(meterRegistry)
+                    .increment(tokens);
+        }
+    }
+
+    /**
+     * Package-private for PromptBuildingBenchmark.
+     */
+    Prompt buildPrompt(String question, Character character) {
+        Map<String, Object> promptVariables = new HashMap<>();
+        promptVariables.put("characterName", character.getName());
+        promptVariables.put("anime", character.getAnime());
+        promptVariables.put("characterData", character.getFullCharacterData());
+        promptVariables.put("question", question);
+
+        PromptTemplate promptTemplate = new PromptTemplate(SYSTEM_PROMPT_TEMPLATE);
+        return promptTemplate.create(promptVariables);
+    }
+
 }
 
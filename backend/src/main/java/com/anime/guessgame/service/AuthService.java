@@ -5,25 +5,32 @@ import com.anime.guessgame.dto.LoginRequest;
 import com.anime.guessgame.dto.RegisterRequest;
 import com.anime.guessgame.dto.MessageResponse;
 import com.anime.guessgame.entity.User;
+import com.anime.guessgame.event.UserRegisteredEvent;
 import com.anime.guessgame.exception.BadRequestException;
+import com.anime.guessgame.exception.ConstraintViolations;
 import com.anime.guessgame.exception.ResourceAlreadyExistsException;
 import com.anime.guessgame.repository.UserRepository;
 import com.anime.guessgame.security.JwtTokenProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+    private static final String USERNAME_CONSTRAINT = "users_username_key";
+    private static final String EMAIL_CONSTRAINT = "users_email_key";
 
     @Autowired
     private UserRepository userRepository;
@@ -38,34 +45,66 @@ public class AuthService {
     private JwtTokenProvider tokenProvider;
 
     @Autowired
-    private EmailVerificationService emailVerificationService;
+    private ApplicationEventPublisher eventPublisher;
 
-    @Transactional
     public MessageResponse register(RegisterRequest request) {
+        return register(request, CompletableFuture.completedFuture(true));
+    }
+
+    /**
+     * Register while a human check (reCAPTCHA) is still in flight.
+     *
+     * Password hashing overlaps with the check; nothing is written until it
+     * has passed. Username/email conflicts are detected by the unique
+     * constraints on users (one INSERT, no pre-check race), and the
+     * verification email is sent after commit on a background thread.
+     *
+     * Not @Transactional: the check can take up to the reCAPTCHA timeout,
+     * and no pooled connection should be held while it runs. The insert
+     * commits in saveAndFlush's own transaction.
+     */
+    public MessageResponse register(RegisterRequest request, CompletableFuture<Boolean> humanCheck) {
         logger.info("Registering new user: {}", request.getUsername());
 
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new ResourceAlreadyExistsException("Username already exists");
-        }
+        String passwordHash = passwordEncoder.encode(request.getPassword());
 
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new ResourceAlreadyExistsException("Email already exists");
+        if (!humanCheck.join()) {
+            throw new BadRequestException("reCAPTCHA verification failed. Please refresh the page and try again.");
         }
 
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .build();
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        }
         logger.info("User registered successfully: {}", user.getUsername());
 
-        emailVerificationService.sendVerificationEmail(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(user));
 
         return new MessageResponse("Registration successful! Please check your email to verify your account.");
     }
 
+    /**
+     * Map a unique violation on users to the same messages the old
+     * exists-checks produced. Constraint names come from V1 (Postgres
+     * default naming: users_username_key, users_email_key).
+     */
+    private RuntimeException toConflict(DataIntegrityViolationException e) {
+        if (ConstraintViolations.violates(e, USERNAME_CONSTRAINT)) {
+            return new ResourceAlreadyExistsException("Username already exists");
+        }
+        if (ConstraintViolations.violates(e, EMAIL_CONSTRAINT)) {
+            return new ResourceAlreadyExistsException("Email already exists");
+        }
+        return e;
+    }
+
     public AuthResponse login(LoginRequest request) {
         logger.info("User login attempt: {}", request.getUsername());
 
@@ -0,0 +1,24 @@
+package com.anime.guessgame.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * DELETE /actuator/charactercache (or the JMX operation): reload characters
+ * after editing them outside the app. Operator account only (SecurityConfig);
+ * flushing the caches sends every /ask to the database.
+ */
+@Component
+@Endpoint(id = "charactercache")
+public class CharacterCacheEndpoint {
+
+    @Autowired
+    private CharacterService characterService;
+
+    @DeleteOperation
+    public void evict() {
+        characterService.evictCharacterCaches();
+    }
+}
@@ -2,6 +2,8 @@ package com.anime.guessgame.service;
 
 import com.anime.guessgame.entity.Character;
 import com.anime.guessgame.repository.CharacterRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,9 @@ public class CharacterService {
     @Autowired
     private CharacterRepository characterRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Transactional(readOnly = true)
     public List<Character> getAllActiveCharacters() {
         logger.info("Fetching all active characters");
@@ -30,5 +35,18 @@ public class CharacterService {
         return characterRepository.findAll();
     }
 
+    /**
+     * Drop every cached character and the cached active-character list.
+     * Writes made through JPA keep the cache in sync on their own; call this
+     * after changing the characters table any other way (SQL, migrations);
+     * operators do that through {@link CharacterCacheEndpoint}.
+     */
+    public void evictCharacterCaches() {
+        logger.info("Evicting character caches");
+        entityManagerFactory.getCache().evict(Character.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(CharacterRepository.ACTIVE_CHARACTERS_CACHE_REGION);
+    }
+
 }
 
@@ -1,5 +1,8 @@
 package com.anime.guessgame.service;
 
+import com.anime.guessgame.email.EmailTemplateEngine;
+import com.anime.guessgame.email.HtmlEscaper;
+import com.anime.guessgame.jfr.EmailDispatchedEvent;
 import com.sendgrid.Method;
 import com.sendgrid.Request;
 import com.sendgrid.Response;
@@ -7,12 +10,18 @@ import com.sendgrid.SendGrid;
 import com.sendgrid.helpers.mail.Mail;
 import com.sendgrid.helpers.mail.objects.Content;
 import com.sendgrid.helpers.mail.objects.Email;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * SendGrid Email Service
@@ -21,12 +30,31 @@ import java.io.IOException;
  * - Welcome emails
  * - Password resets
  * - Game notifications
+ *
+ * HTML bodies live in resources/templates/email and are rendered by
+ * {@link EmailTemplateEngine}.
+ *
+ * Lazy, like its callers' references to it: nothing is sent during a cold start.
  */
 @Service
+@Lazy
+@RegisterReflectionForBinding(Mail.class) // serialized by Mail.build()
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
+    private static final String WELCOME_TEMPLATE = "welcome";
+    private static final String PASSWORD_RESET_TEMPLATE = "password-reset";
+    private static final String EMAIL_VERIFICATION_TEMPLATE = "email-verification";
+    private static final String ACHIEVEMENT_TEMPLATE = "achievement";
+    private static final String CONTACT_TEMPLATE = "contact";
+
+    @Autowired
+    private EmailTemplateEngine templateEngine;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Value("${sendgrid.api-key:}")
     private String apiKey;
 
@@ -55,7 +83,7 @@ public class EmailService {
         String subject = "Welcome to Anime Guess Game! 🎌";
         String htmlContent = buildWelcomeEmailHtml(username);
         
-        sendEmail(toEmail, subject, htmlContent);
+        sendEmail(WELCOME_TEMPLATE, toEmail, subject, htmlContent);
     }
 
     /**
@@ -65,7 +93,7 @@ public class EmailService {
         String subject = "Reset Your Password - Anime Guess Game";
         String htmlContent = buildPasswordResetEmailHtml(resetToken);
         
-        sendEmail(toEmail, subject, htmlContent);
+        sendEmail(PASSWORD_RESET_TEMPLATE, toEmail, subject, htmlContent);
     }
 
     /**
@@ -75,7 +103,7 @@ public class EmailService {
         String subject = "Verify Your Email - Anime Guess Game";
         String htmlContent = buildEmailVerificationHtml(username, verificationToken);
 
-        sendEmail(toEmail, subject, htmlContent);
+        sendEmail(EMAIL_VERIFICATION_TEMPLATE, toEmail, subject, htmlContent);
     }
 
     /**
@@ -85,7 +113,7 @@ public class EmailService {
         String subject = "🎉 New Achievement Unlocked!";
         String htmlContent = buildAchievementEmailHtml(username, achievement);
         
-        sendEmail(toEmail, subject, htmlContent);
+        sendEmail(ACHIEVEMENT_TEMPLATE, toEmail, subject, htmlContent);
     }
 
     /**
@@ -96,20 +124,31 @@ public class EmailService {
         String htmlContent = buildContactEmailHtml(fromName, fromEmail, message);
         
         // Send to the configured contact email address
-        sendEmail(this.contactEmail, subject, htmlContent);
+        sendEmail(CONTACT_TEMPLATE, this.contactEmail, subject, htmlContent);
     }
 
     /**
-     * Generic email sending method
+     * Generic email sending method. SendGrid round trips are observed as
+     * email.send (type = template, outcome sent/failed) and recorded as an
+     * EmailDispatched flight recorder event.
      */
-    private void sendEmail(String toEmail, String subject, String htmlContent) {
+    private void sendEmail(String type, String toEmail, String subject, String htmlContent) {
         // Skip if SendGrid is disabled
         if (!enabled) {
             logger.info("Email sending skipped (disabled): {} to {}", subject, toEmail);
             return;
         }
 
-        try {
+        Observation observation = Observation.createNotStarted("email.send", observationRegistry)
+                .contextualName("send " + type + " email")
+                .lowCardinalityKeyValue("type", type)
+                .lowCardinalityKeyValue("outcome", "failed")
+                .start();
+        EmailDispatchedEvent event = new EmailDispatchedEvent();
+        event.setType(type);
+        event.setOutcome("failed");
+        event.begin();
+        try (Observation.Scope scope = observation.openScope()) {
             Email from = new Email(fromEmail, fromName);
             Email to = new Email(toEmail);
             Content content = new Content("text/html", htmlContent);
@@ -123,9 +162,12 @@ public class EmailService {
             request.setBody(mail.build());
 
             Response response = sg.api(request);
+            event.setStatusCode(response.getStatusCode());
             
             if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
                 logger.info("Email sent successfully: {} to {}", subject, toEmail);
+                observation.lowCardinalityKeyValue("outcome", "sent");
+                event.setOutcome("sent");
             } else {
                 logger.error("Failed to send email. Status: {}, Body: {}", 
                            response.getStatusCode(), response.getBody());
@@ -133,184 +175,46 @@ public class EmailService {
 
         } catch (IOException e) {
             logger.error("Error sending email to: " + toEmail, e);
+            observation.error(e);
+        } finally {
+            observation.stop();
+            event.commit();
         }
     }
 
     private String buildWelcomeEmailHtml(String username) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); 
-                              color: white; padding: 30px; text-align: center; border-radius: 10px; }
-                    .content { padding: 30px; background: #f9f9f9; border-radius: 10px; margin-top: 20px; }
-                    .button { background: #667eea; color: white; padding: 12px 30px; 
-                              text-decoration: none; border-radius: 5px; display: inline-block; margin-top: 20px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🎌 Welcome to Anime Guess Game!</h1>
-                    </div>
-                    <div class="content">
-                        <h2>Hey %s! 👋</h2>
-                        <p>Thanks for joining Anime Guess Game! You're now part of our awesome community.</p>
-                        
-                        <h3>🎮 How to Play:</h3>
-                        <ul>
-                            <li>Start a new game</li>
-                            <li>Ask questions about the secret character</li>
-                            <li>Make your guess when ready</li>
-                            <li>See if you got it right!</li>
-                        </ul>
-                        
-                        <p>Ready to test your anime knowledge?</p>
-                        <a href="%s/game" class="button">Start Playing Now!</a>
-                        
-                        <p style="margin-top: 30px; color: #666;">
-                            Happy gaming!<br>
-                            The Anime Guess Game Team
-                        </p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, username, frontendUrl);
+        return templateEngine.render(WELCOME_TEMPLATE, Map.of(
+                "username", username,
+                "frontendUrl", frontendUrl));
     }
 
     private String buildPasswordResetEmailHtml(String resetToken) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🔐 Password Reset Request</h1>
-                    </div>
-                    <div class="content">
-                        <p>You requested to reset your password.</p>
-                        <p>Click the button below to reset your password:</p>
-                        <a href="%s/reset-password?token=%s" class="button">
-                            Reset Password
-                        </a>
-                        <p style="margin-top: 20px; color: #666;">
-                            This link expires in 1 hour.<br>
-                            If you didn't request this, please ignore this email.
-                        </p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, frontendUrl, resetToken);
+        return templateEngine.render(PASSWORD_RESET_TEMPLATE, Map.of(
+                "frontendUrl", frontendUrl,
+                "resetToken", resetToken));
     }
 
     private String buildEmailVerificationHtml(String username, String verificationToken) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); 
-                              color: white; padding: 30px; text-align: center; border-radius: 10px; }
-                    .content { padding: 30px; background: #f9f9f9; border-radius: 10px; margin-top: 20px; }
-                    .button { background: #667eea; color: white; padding: 12px 30px; 
-                              text-decoration: none; border-radius: 5px; display: inline-block; margin-top: 20px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>📬 Verify Your Email</h1>
-                    </div>
-                    <div class="content">
-                        <p>Hey %s!</p>
-                        <p>Thanks for signing up for Anime Guess Game. Before you jump in, please confirm your email address:</p>
-                        <a href="%s/verify-email?token=%s" class="button">
-                            Verify Email
-                        </a>
-                        <p style="margin-top: 20px; color: #666;">
-                            This link expires in 24 hours.<br>
-                            If you didn't create this account, you can safely ignore this message.
-                        </p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, username, frontendUrl, verificationToken);
+        return templateEngine.render(EMAIL_VERIFICATION_TEMPLATE, Map.of(
+                "username", username,
+                "frontendUrl", frontendUrl,
+                "verificationToken", verificationToken));
     }
 
     private String buildAchievementEmailHtml(String username, String achievement) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🎉 Achievement Unlocked!</h1>
-                    </div>
-                    <div class="content">
-                        <h2>Congratulations %s!</h2>
-                        <p>You've unlocked a new achievement:</p>
-                        <h3 style="color: #667eea;">%s</h3>
-                        <p>Keep playing to unlock more achievements!</p>
-                        <a href="https://your-frontend-url.vercel.app/profile" class="button">
-                            View Your Profile
-                        </a>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, username, achievement);
+        return templateEngine.render(ACHIEVEMENT_TEMPLATE, Map.of(
+                "username", username,
+                "achievement", achievement,
+                "frontendUrl", frontendUrl));
     }
 
     private String buildContactEmailHtml(String fromName, String fromEmail, String message) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); 
-                              color: white; padding: 30px; text-align: center; border-radius: 10px; }
-                    .content { padding: 30px; background: #f9f9f9; border-radius: 10px; margin-top: 20px; }
-                    .info { background: white; padding: 15px; border-radius: 5px; margin: 15px 0; }
-                    .info-label { font-weight: bold; color: #667eea; }
-                    .message-box { background: white; padding: 20px; border-radius: 5px; border-left: 4px solid #667eea; margin-top: 15px; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>📧 New Contact Form Submission</h1>
-                    </div>
-                    <div class="content">
-                        <p>You have received a new message from your Anime Guess Game contact form:</p>
-                        
-                        <div class="info">
-                            <p><span class="info-label">Name:</span> %s</p>
-                            <p><span class="info-label">Email:</span> <a href="mailto:%s">%s</a></p>
-                        </div>
-                        
-                        <div class="message-box">
-                            <p><span class="info-label">Message:</span></p>
-                            <p>%s</p>
-                        </div>
-                        
-                        <p style="margin-top: 30px; color: #666; font-size: 12px;">
-                            This email was sent from the contact form on Anime Guess Game.
-                        </p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, fromName, fromEmail, fromEmail, message.replace("\n", "<br>"));
+        // Message is user-supplied: escape first, then keep the line breaks
+        String messageHtml = HtmlEscaper.escape(message).replace("\n", "<br>");
+
+        return templateEngine.render(CONTACT_TEMPLATE, Map.of(
+                "fromName", fromName,
+                "fromEmail", fromEmail,
+                "messageHtml", messageHtml));
     }
 }
-
@@ -2,14 +2,20 @@ package com.anime.guessgame.service;
 
 import com.anime.guessgame.entity.EmailVerificationToken;
 import com.anime.guessgame.entity.User;
+import com.anime.guessgame.event.UserRegisteredEvent;
 import com.anime.guessgame.exception.BadRequestException;
 import com.anime.guessgame.repository.EmailVerificationTokenRepository;
 import com.anime.guessgame.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -26,6 +32,7 @@ public class EmailVerificationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Lazy
     @Autowired(required = false)
     private EmailService emailService;
 
@@ -48,6 +55,22 @@ public class EmailVerificationService {
         logger.info("Verification email sent to {}", user.getEmail());
     }
 
+    /**
+     * Registration only inserts the user; the token write and SendGrid call
+     * happen here, after commit and off the request thread. If this fails
+     * the user can still use "resend verification".
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        try {
+            sendVerificationEmail(event.getUser());
+        } catch (Exception e) {
+            logger.error("Failed to send verification email to {}", event.getUser().getEmail(), e);
+        }
+    }
+
     @Transactional
     public void verifyEmailToken(String token) {
         EmailVerificationToken verificationToken = verificationTokenRepository.findByToken(token)
@@ -89,9 +112,24 @@ public class EmailVerificationService {
         sendVerificationEmail(user);
     }
 
-    @Transactional
-    public void purgeExpiredTokens() {
-        verificationTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+    /**
+     * Purge expired tokens in chunks of {@code batchSize}. Deliberately not
+     * transactional: every chunk commits on its own, so locks stay short and
+     * nothing is loaded into the persistence context. A batch size below 1
+     * is treated as 1, since LIMIT 0 would never finish the loop.
+     *
+     * @return total number of tokens deleted
+     */
+    public int purgeExpiredTokens(int batchSize) {
+        int chunk = Math.max(1, batchSize);
+        LocalDateTime cutoff = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = verificationTokenRepository.deleteExpiredBatch(cutoff, chunk);
+            total += deleted;
+        } while (deleted == chunk);
+        return total;
     }
 }
 
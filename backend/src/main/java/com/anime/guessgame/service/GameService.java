@@ -4,27 +4,46 @@ import com.anime.guessgame.dto.GameResponse;
 import com.anime.guessgame.dto.QuestionAnswerResponse;
 import com.anime.guessgame.entity.Character;
 import com.anime.guessgame.entity.Game;
+import com.anime.guessgame.entity.GameArchive;
 import com.anime.guessgame.entity.Question;
 import com.anime.guessgame.entity.User;
+import com.anime.guessgame.exception.ConstraintViolations;
+import com.anime.guessgame.exception.ResourceAlreadyExistsException;
 import com.anime.guessgame.exception.ResourceNotFoundException;
+import com.anime.guessgame.filter.RequestMdcFilter;
+import com.anime.guessgame.jfr.GameEndedEvent;
+import com.anime.guessgame.jfr.GameStartedEvent;
 import com.anime.guessgame.repository.CharacterRepository;
+import com.anime.guessgame.repository.GameArchiveRepository;
 import com.anime.guessgame.repository.GameRepository;
 import com.anime.guessgame.repository.QuestionRepository;
 import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.security.GameDraftTokenProvider;
+import com.anime.guessgame.security.GameDraftTokenProvider.GameDraft;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class GameService {
 
     private static final Logger logger = LoggerFactory.getLogger(GameService.class);
+    private static final String ONE_ACTIVE_GAME_CONSTRAINT = "uq_games_one_active_per_user";
 
     @Autowired
     private GameRepository gameRepository;
@@ -41,67 +60,85 @@ public class GameService {
     @Autowired
     private AIService aiService;
 
+    @Autowired
+    private GameDraftTokenProvider gameDraftTokenProvider;
+
+    @Autowired
+    private GameArchiveRepository gameArchiveRepository;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    /**
+     * Start a game as a draft: the character is chosen but nothing is written
+     * until the first question or guess, so rerolling costs no writes. The
+     * draft travels with the client as {@link GameResponse#getDraftToken()}.
+     */
     @Transactional
     public GameResponse startNewGame(String username) {
         logger.info("Starting new game for user: {}", username);
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = phase("start", "lookup", () -> userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found")));
 
         // End any active games for this user
-        gameRepository.findActiveGameByUserId(user.getId()).ifPresent(game -> {
-            game.setStatus(Game.GameStatus.LOST);
-            game.setEndedAt(LocalDateTime.now());
-            gameRepository.save(game);
-            logger.info("Ended previous active game: {}", game.getId());
-        });
+        phase("start", "persist", () ->
+                gameRepository.findActiveGameByUserId(user.getId()).ifPresent(this::endAbandonedGame));
 
         // Select random character
-        Character character = characterRepository.findRandomActiveCharacter()
-                .orElseThrow(() -> new ResourceNotFoundException("No active characters found"));
+        Character character = phase("start", "lookup", () -> characterRepository.findRandomActiveCharacter()
+                .orElseThrow(() -> new ResourceNotFoundException("No active characters found")));
+
+        GameDraft draft = new GameDraft(user.getId(), character.getId(), LocalDateTime.now());
+        logger.info("New game drafted for user {} with character: {}", user.getId(), character.getName());
+        GameStartedEvent startedEvent = new GameStartedEvent();
+        if (startedEvent.shouldCommit()) {
+            startedEvent.setUserId(user.getId());
+            startedEvent.setCharacter(character.getName());
+            startedEvent.commit();
+        }
 
-        // Create new game
-        Game game = Game.builder()
-                .user(user)
-                .character(character)
+        return phase("start", "respond", () -> GameResponse.builder()
                 .status(Game.GameStatus.ACTIVE)
                 .questionsCount(0)
+                .startedAt(draft.startedAt())
                 .guessedCorrectly(false)
-                .build();
-
-        game = gameRepository.save(game);
-        logger.info("New game started: {} with character: {}", game.getId(), character.getName());
-
-        return buildGameResponse(game, false);
+                .conversationHistory(List.of())
+                .draftToken(gameDraftTokenProvider.createToken(draft))
+                .build());
     }
 
     @Transactional
-    public QuestionAnswerResponse askQuestion(String username, String questionText) {
-        logger.info("User {} asking question: {}", username, questionText);
-
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Game game = gameRepository.findActiveGameByUserId(user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("No active game found. Please start a new game."));
+    public QuestionAnswerResponse askQuestion(String username, String questionText, String draftToken) {
+        logger.debug("User {} asking a question", username);
+
+        Game game = phase("ask", "lookup", () -> {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            return resolveActiveGame(user, draftToken, gameRepository::findActiveGameWithCharacterByUserId)
+                    .orElseThrow(() -> new ResourceNotFoundException("No active game found. Please start a new game."));
+        });
+        MDC.put(RequestMdcFilter.GAME_ID, String.valueOf(game.getId()));
 
         // Get AI response
-        String answer = aiService.answerQuestion(questionText, game.getCharacter());
+        String answer = phase("ask", "ai", () -> aiService.answerQuestion(questionText, game.getCharacter()));
 
-        // Save question
-        Question question = Question.builder()
-                .game(game)
-                .questionText(questionText)
-                .answerText(answer)
-                .build();
+        phase("ask", "persist", () -> {
+            // Save question
+            Question question = Question.builder()
+                    .game(game)
+                    .questionText(questionText)
+                    .answerText(answer)
+                    .build();
 
-        questionRepository.save(question);
+            questionRepository.save(question);
 
-        // Update game
-        game.incrementQuestionsCount();
-        gameRepository.save(game);
+            // Update game
+            game.incrementQuestionsCount();
+            gameRepository.save(game);
+        });
 
-        logger.info("Question answered for game: {}", game.getId());
+        logger.debug("Question answered for game: {}", game.getId());
 
         return QuestionAnswerResponse.builder()
                 .question(questionText)
@@ -111,14 +148,16 @@ public class GameService {
     }
 
     @Transactional
-    public GameResponse submitGuess(String username, String guessedName) {
-        logger.info("User {} submitting guess: {}", username, guessedName);
-
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Game game = gameRepository.findActiveGameByUserId(user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("No active game found"));
+    public GameResponse submitGuess(String username, String guessedName, String draftToken) {
+        logger.debug("User {} submitting a guess", username);
+
+        Game game = phase("guess", "lookup", () -> {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            return resolveActiveGame(user, draftToken, gameRepository::findActiveGameWithCharacterAndQuestionsByUserId)
+                    .orElseThrow(() -> new ResourceNotFoundException("No active game found"));
+        });
+        MDC.put(RequestMdcFilter.GAME_ID, String.valueOf(game.getId()));
 
         Character character = game.getCharacter();
         boolean isCorrect = isGuessCorrect(character.getName(), guessedName);
@@ -128,11 +167,12 @@ public class GameService {
         game.setFinalGuess(guessedName);
         game.setEndedAt(LocalDateTime.now());
 
-        gameRepository.save(game);
+        phase("guess", "persist", () -> gameRepository.save(game));
 
         logger.info("Game {} ended. Result: {}", game.getId(), isCorrect ? "WON" : "LOST");
+        recordGameEnded(game, game.getStatus().name());
 
-        return buildGameResponse(game, true);
+        return phase("guess", "respond", () -> buildGameResponse(game, true));
     }
 
     /**
@@ -141,8 +181,10 @@ public class GameService {
      * - "luffy" matches "Monkey D. Luffy"
      * - "naruto" matches "Naruto Uzumaki"
      * - "monkey d luffy" matches "Monkey D. Luffy"
+     *
+     * Package-private for GuessMatchingBenchmark.
      */
-    private boolean isGuessCorrect(String actualName, String guessedName) {
+    static boolean isGuessCorrect(String actualName, String guessedName) {
         String normalizedActual = actualName.toLowerCase().trim();
         String normalizedGuess = guessedName.toLowerCase().trim();
         
@@ -176,29 +218,175 @@ public class GameService {
     }
 
     @Transactional(readOnly = true)
-    public GameResponse getCurrentGame(String username) {
+    public GameResponse getCurrentGame(String username, String draftToken) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        Game game = gameRepository.findActiveGameByUserId(user.getId())
+        Optional<GameDraft> draft = findPendingDraft(user, draftToken);
+        if (draft.isPresent()) {
+            return GameResponse.builder()
+                    .status(Game.GameStatus.ACTIVE)
+                    .questionsCount(0)
+                    .startedAt(draft.get().startedAt())
+                    .guessedCorrectly(false)
+                    .conversationHistory(List.of())
+                    .draftToken(draftToken)
+                    .build();
+        }
+
+        Game game = gameRepository.findActiveGameWithQuestionsByUserId(user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("No active game found"));
 
         return buildGameResponse(game, false);
     }
 
+    /**
+     * The game a question or guess applies to. A pending draft is persisted
+     * now (ending whatever game was active before it); otherwise it is the
+     * user's persisted active game, loaded with the caller's fetch plan.
+     */
+    private Optional<Game> resolveActiveGame(User user, String draftToken, Function<Long, Optional<Game>> activeGameLoader) {
+        Optional<GameDraft> draft = findPendingDraft(user, draftToken);
+        if (draft.isEmpty()) {
+            return activeGameLoader.apply(user.getId());
+        }
+
+        gameRepository.findActiveGameByUserId(user.getId()).ifPresent(this::endAbandonedGame);
+
+        Character character = characterRepository.findById(draft.get().characterId())
+                .orElseThrow(() -> new ResourceNotFoundException("Character not found"));
+        Game game;
+        try {
+            game = gameRepository.saveAndFlush(Game.builder()
+                    .user(user)
+                    .character(character)
+                    .draftIssuedAt(draft.get().startedAt())
+                    .status(Game.GameStatus.ACTIVE)
+                    .questionsCount(0)
+                    .guessedCorrectly(false)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, ONE_ACTIVE_GAME_CONSTRAINT)) {
+                // A concurrent request persisted this draft first
+                throw new ResourceAlreadyExistsException("This game has already started. Please try again.");
+            }
+            throw e;
+        }
+        logger.info("Game draft persisted as game: {}", game.getId());
+        return Optional.of(game);
+    }
+
+    /**
+     * A draft is pending until it, or a draft issued after it, has been
+     * persisted: then replaying it must not create another game. Only issue
+     * times from tokens are compared (draft_issued_at), so the clock of the
+     * node that persisted the game does not matter, and the draft's own game
+     * matches it exactly.
+     */
+    private Optional<GameDraft> findPendingDraft(User user, String draftToken) {
+        return gameDraftTokenProvider.parseToken(draftToken)
+                .filter(draft -> draft.userId().equals(user.getId()))
+                .filter(draft -> !gameRepository.existsByUserIdAndDraftIssuedAtGreaterThanEqual(
+                        user.getId(), draft.startedAt()));
+    }
+
+    private void endAbandonedGame(Game game) {
+        game.setStatus(Game.GameStatus.LOST);
+        game.setEndedAt(LocalDateTime.now());
+        // Flush now: at most one ACTIVE game per user is enforced by a unique index,
+        // and the replacement game's INSERT would otherwise reach the database first
+        gameRepository.saveAndFlush(game);
+        logger.info("Ended previous active game: {}", game.getId());
+        recordGameEnded(game, "ABANDONED");
+    }
+
+    private static void recordGameEnded(Game game, String result) {
+        GameEndedEvent event = new GameEndedEvent();
+        if (event.shouldCommit()) {
+            event.setGameId(game.getId());
+            // The id only: the character may be an uninitialized proxy here
+            event.setCharacterId(game.getCharacter().getId());
+            event.setResult(result);
+            event.setQuestionsCount(game.getQuestionsCount());
+            event.commit();
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<GameResponse> getUserGameHistory(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = phase("history", "lookup", () -> userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found")));
 
-        List<Game> games = gameRepository.findByUserId(user.getId());
+        List<Game> games = phase("history", "lookup", () -> gameRepository.findHistoryByUserId(user.getId()));
 
-        return games.stream()
-                .map(game -> buildGameResponse(game, true))
+        List<Long> archivedGameIds = games.stream()
+                .filter(GameService::isArchived)
+                .map(Game::getId)
                 .collect(Collectors.toList());
+        Map<Long, GameArchive> archives = archivedGameIds.isEmpty() ? Map.of()
+                : phase("history", "lookup", () -> gameArchiveRepository.findAllById(archivedGameIds).stream()
+                        .collect(Collectors.toMap(GameArchive::getGameId, Function.identity())));
+
+        return phase("history", "respond", () -> games.stream()
+                .map(game -> buildGameResponse(game, true, archives.get(game.getId())))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * End ACTIVE games idle for longer than {@code idleTimeout} as LOST, the
+     * same outcome as starting a new game over them. Each chunk commits on
+     * its own; see {@link GameRepository#endIdleActiveGames}. A batch size
+     * below 1 is treated as 1.
+     *
+     * @return total number of games ended
+     */
+    public int reapAbandonedGames(Duration idleTimeout, int batchSize) {
+        int chunk = Math.max(1, batchSize);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(idleTimeout);
+        int total = 0;
+        int reaped;
+        do {
+            reaped = gameRepository.endIdleActiveGames(cutoff, now, chunk);
+            total += reaped;
+        } while (reaped == chunk);
+        return total;
+    }
+
+    /**
+     * Observe one phase (lookup, ai, persist, respond) of a game operation as
+     * game.phase, a timer and a child span of the request, so a slow /ask can
+     * be split into database, LLM and response building. Commit and JSON
+     * rendering happen after the service returns.
+     */
+    private <T> T phase(String operation, String phase, Supplier<T> work) {
+        return Observation.createNotStarted("game.phase", observationRegistry)
+                .contextualName(operation + " " + phase)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("phase", phase)
+                .observe(work);
+    }
+
+    private void phase(String operation, String phase, Runnable work) {
+        phase(operation, phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Questions of old games live in game_archive once their partition is dropped
+     */
+    private static boolean isArchived(Game game) {
+        return game.getQuestions().isEmpty() && game.getQuestionsCount() != null && game.getQuestionsCount() > 0;
     }
 
     private GameResponse buildGameResponse(Game game, boolean revealCharacter) {
+        GameArchive archive = isArchived(game) ? gameArchiveRepository.findById(game.getId()).orElse(null) : null;
+        return buildGameResponse(game, revealCharacter, archive);
+    }
+
+    private GameResponse buildGameResponse(Game game, boolean revealCharacter, GameArchive archive) {
         List<GameResponse.QuestionResponse> conversationHistory = game.getQuestions().stream()
                 .map(q -> GameResponse.QuestionResponse.builder()
                         .question(q.getQuestionText())
@@ -207,6 +395,16 @@ public class GameService {
                         .build())
                 .collect(Collectors.toList());
 
+        if (archive != null) {
+            conversationHistory = archive.getQuestions().stream()
+                    .map(q -> GameResponse.QuestionResponse.builder()
+                            .question(q.getQuestion())
+                            .answer(q.getAnswer())
+                            .askedAt(q.getAskedAt())
+                            .build())
+                    .collect(Collectors.toList());
+        }
+
         return GameResponse.builder()
                 .gameId(game.getId())
                 .status(game.getStatus())
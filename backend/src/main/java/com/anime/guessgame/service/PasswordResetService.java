@@ -8,6 +8,7 @@ import com.anime.guessgame.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +32,7 @@ public class PasswordResetService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Lazy
     @Autowired
     private EmailService emailService;
 
@@ -80,9 +82,24 @@ public class PasswordResetService {
         logger.info("Password reset successfully for {}", user.getEmail());
     }
 
-    @Transactional
-    public void purgeExpiredTokens() {
-        passwordResetTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+    /**
+     * Purge expired tokens in chunks of {@code batchSize}. Deliberately not
+     * transactional: every chunk commits on its own, so locks stay short and
+     * nothing is loaded into the persistence context. A batch size below 1
+     * is treated as 1, since LIMIT 0 would never finish the loop.
+     *
+     * @return total number of tokens deleted
+     */
+    public int purgeExpiredTokens(int batchSize) {
+        int chunk = Math.max(1, batchSize);
+        LocalDateTime cutoff = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = passwordResetTokenRepository.deleteExpiredBatch(cutoff, chunk);
+            total += deleted;
+        } while (deleted == chunk);
+        return total;
     }
 }
 
@@ -0,0 +1,245 @@
+package com.anime.guessgame.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the questions table (V12).
+ *
+ * Future partitions are created ahead of time: there is no default partition
+ * (V13), so an insert outside every partition fails. Every instance also
+ * creates them at startup, in case QuestionPartitionJob is off or has not
+ * run, and publishes questions.partitions.months.ahead (the last partition's
+ * month minus the current one) for alerting. Partitions past
+ * retention are compacted into game_archive (one JSON array per game) chunk
+ * by chunk, then detached and dropped.
+ * GameService reads the archive when a game's questions are gone.
+ */
+@Service
+public class QuestionArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionArchiveService.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("questions_y(\\d{4})m(\\d{2})");
+
+    /**
+     * Moves every question of up to N games found in the partition (including
+     * any spill-over into the next month) into game_archive, atomically.
+     */
+    private static final String ARCHIVE_BATCH_SQL = """
+            WITH batch AS (
+                SELECT DISTINCT game_id FROM %s ORDER BY game_id LIMIT ?
+            ), moved AS (
+                DELETE FROM questions q USING batch b WHERE q.game_id = b.game_id
+                RETURNING q.game_id, q.id, q.question_text, q.answer_text, q.asked_at
+            )
+            INSERT INTO game_archive (game_id, question_count, questions, archived_at)
+            SELECT game_id,
+                   COUNT(*),
+                   jsonb_agg(jsonb_build_object('question', question_text, 'answer', answer_text, 'askedAt', asked_at)
+                             ORDER BY asked_at, id),
+                   CURRENT_TIMESTAMP
+            FROM moved
+            GROUP BY game_id
+            ON CONFLICT (game_id) DO UPDATE
+            SET questions = game_archive.questions || EXCLUDED.questions,
+                question_count = game_archive.question_count + EXCLUDED.question_count,
+                archived_at = EXCLUDED.archived_at
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${maintenance.question-partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    private volatile YearMonth lastPartitionMonth;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("questions.partitions.months.ahead", this, service -> service.lastPartitionMonth == null
+                        ? Double.NaN : ChronoUnit.MONTHS.between(YearMonth.now(), service.lastPartitionMonth))
+                .description("Months from the current one to the last questions partition")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createFuturePartitionsOnStartup() {
+        try {
+            createFuturePartitions();
+        } catch (DataAccessException e) {
+            // e.g. another instance creating the same partition; the job and the next start retry
+            logger.warn("Could not create the coming question partitions at startup: {}", e.getMessage());
+            refreshLastPartitionMonth();
+        }
+    }
+
+    /**
+     * Create the partitions for this month and the next
+     * {@code maintenance.question-partitions.months-ahead}.
+     */
+    public void createFuturePartitions() {
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            jdbcTemplate.queryForObject("SELECT create_questions_partition(?)", String.class,
+                    month.plusMonths(i).atDay(1));
+        }
+        refreshLastPartitionMonth();
+    }
+
+    /**
+     * Hourly on every instance, so the gauge follows partitions created (or
+     * not) by whichever instance holds the job's lease.
+     */
+    @Scheduled(fixedDelayString = "${maintenance.question-partitions.check-interval-ms:3600000}",
+            initialDelayString = "${maintenance.question-partitions.check-interval-ms:3600000}")
+    public void refreshLastPartitionMonth() {
+        try {
+            lastPartitionMonth = listPartitions().stream()
+                    .map(PARTITION_NAME::matcher)
+                    .filter(Matcher::matches)
+                    .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                    .max(YearMonth::compareTo)
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            logger.warn("Could not list the question partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archive and drop every monthly partition older than {@code retentionMonths}
+     * full months. A partition that still has questions of an ACTIVE game is
+     * left alone until that game ends.
+     */
+    public ArchiveResult archiveOldPartitions(int retentionMonths, int batchSize) {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        int archivedGames = 0;
+        List<String> droppedPartitions = new ArrayList<>(finishPendingDetaches());
+
+        for (String partition : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+
+            Boolean hasActiveGames = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + partition + " q JOIN games g ON g.id = q.game_id "
+                            + "WHERE g.status = 'ACTIVE')", Boolean.class);
+            if (Boolean.TRUE.equals(hasActiveGames)) {
+                logger.warn("Not archiving {}: it has questions of games that are still active", partition);
+                continue;
+            }
+
+            int archived;
+            do {
+                // Each chunk is one statement, so it commits (and can fail) on its own
+                archived = jdbcTemplate.update(ARCHIVE_BATCH_SQL.formatted(partition), batchSize);
+                archivedGames += archived;
+            } while (archived > 0);
+
+            if (dropIfEmpty(partition, month)) {
+                droppedPartitions.add(partition);
+            }
+        }
+
+        return new ArchiveResult(archivedGames, droppedPartitions);
+    }
+
+    /**
+     * Detach, re-check and drop. DETACH ... CONCURRENTLY takes only a SHARE
+     * UPDATE EXCLUSIVE lock on questions, so live inserts and reads go on
+     * while it waits for the queries already using the partition; locking the
+     * partition and then dropping it would take the parent's lock after the
+     * child's, the reverse of live traffic. It cannot run inside a
+     * transaction, so each statement here autocommits.
+     */
+    private boolean dropIfEmpty(String partition, YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE questions DETACH PARTITION " + partition + " CONCURRENTLY");
+        return dropDetached(partition, month);
+    }
+
+    /**
+     * Detached, so nothing can insert into it any more. Rows that arrived
+     * before the detach go back with the partition, for the next run.
+     */
+    private boolean dropDetached(String partition, YearMonth month) {
+        Boolean hasRows = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+        if (Boolean.TRUE.equals(hasRows)) {
+            logger.warn("Not dropping {}: new rows appeared while archiving", partition);
+            jdbcTemplate.execute("ALTER TABLE questions ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')"
+                    .formatted(partition, month.atDay(1), month.plusMonths(1).atDay(1)));
+            return false;
+        }
+
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        logger.info("Archived and dropped question partition {}", partition);
+        return true;
+    }
+
+    /**
+     * A DETACH ... CONCURRENTLY that was interrupted (e.g. the instance
+     * stopped) leaves the partition pending, invisible to queries on
+     * questions; finish it and drop the partition.
+     */
+    private List<String> finishPendingDetaches() {
+        List<String> pending = jdbcTemplate.queryForList("""
+                SELECT child.relname FROM pg_inherits i
+                JOIN pg_class child ON child.oid = i.inhrelid
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                WHERE parent.relname = 'questions' AND i.inhdetachpending
+                """, String.class);
+        List<String> dropped = new ArrayList<>();
+        for (String partition : pending) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            logger.warn("Finishing the interrupted detach of {}", partition);
+            jdbcTemplate.execute("ALTER TABLE questions DETACH PARTITION " + partition + " FINALIZE");
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (dropDetached(partition, month)) {
+                dropped.add(partition);
+            }
+        }
+        return dropped;
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname FROM pg_inherits i
+                JOIN pg_class child ON child.oid = i.inhrelid
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                WHERE parent.relname = 'questions'
+                ORDER BY child.relname
+                """, String.class);
+    }
+
+    public record ArchiveResult(int archivedGames, List<String> droppedPartitions) {
+    }
+}
@@ -1,29 +1,61 @@
 package com.anime.guessgame.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Google reCAPTCHA v3 Service
- * 
- * Verifies that users are human, not bots
+ *
+ * Verifies that users are human, not bots.
+ *
+ * Verification is non-blocking: {@link #verifyAsync} returns immediately so
+ * callers can overlap the Google round trip with their own work. A shared
+ * JDK HttpClient pools connections, and connect/request timeouts bound how
+ * long a slow Google response can hold up registration.
+ *
+ * Tokens are single-use. Every token we have verified (or are verifying) is
+ * remembered for its lifetime, so a replayed or double-submitted token is
+ * rejected locally without another call to Google.
+ *
+ * Lazy: the HttpClient is only built when the first registration comes in.
  */
 @Service
+@Lazy
+@RegisterReflectionForBinding(RecaptchaService.VerifyResponse.class)
 public class RecaptchaService {
 
     private static final Logger logger = LoggerFactory.getLogger(RecaptchaService.class);
     private static final String RECAPTCHA_VERIFY_URL = "https://www.google.com/recaptcha/api/siteverify";
 
+    /** reCAPTCHA tokens expire two minutes after they are issued. */
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(2);
+
     @Value("${recaptcha.secret-key:}")
     private String secretKey;
 
@@ -33,126 +65,169 @@ public class RecaptchaService {
     @Value("${recaptcha.threshold:0.5}")
     private double threshold;
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Value("${recaptcha.verify-url:" + RECAPTCHA_VERIFY_URL + "}")
+    private String verifyUrl;
+
+    @Value("${recaptcha.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${recaptcha.request-timeout:3s}")
+    private Duration requestTimeout;
+
+    @Value("${recaptcha.replay-cache-max-size:100000}")
+    private int replayCacheMaxSize;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    private final ObjectReader responseReader = new ObjectMapper().readerFor(VerifyResponse.class);
+
+    /** Tokens seen within their lifetime; bounded, so a flood of unique tokens cannot grow it */
+    private Cache<String, Boolean> seenTokens;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    void init() {
+        seenTokens = Caffeine.newBuilder()
+                .expireAfterWrite(TOKEN_LIFETIME)
+                .maximumSize(replayCacheMaxSize)
+                .build();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+    }
 
     /**
      * Verify reCAPTCHA token
-     * 
+     *
      * @param token Token from frontend
      * @param action Expected action (e.g., "register", "login")
      * @return true if verification succeeds
      */
     public boolean verify(String token, String action) {
+        return verifyAsync(token, action).join();
+    }
+
+    /**
+     * Verify without action check (for backward compatibility)
+     * Note: This skips action validation and only checks success and score
+     */
+    public boolean verifyWithoutAction(String token) {
+        return verifyAsync(token, null).join();
+    }
+
+    /**
+     * Start verifying a token. The future never completes exceptionally:
+     * timeouts and transport errors resolve to false.
+     *
+     * @param action Expected action, or null to skip the action check
+     */
+    public CompletableFuture<Boolean> verifyAsync(String token, String action) {
         // Skip if reCAPTCHA is disabled (for development)
         if (!enabled) {
             logger.info("reCAPTCHA verification skipped (disabled)");
-            return true;
+            return CompletableFuture.completedFuture(true);
         }
 
         // Validate secret key is configured when reCAPTCHA is enabled
-        if (secretKey == null || secretKey.isEmpty() || secretKey.trim().isEmpty()) {
+        if (secretKey == null || secretKey.isBlank()) {
             logger.error("reCAPTCHA is enabled but secret key is not configured. Please set RECAPTCHA_SECRET_KEY environment variable.");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         if (token == null || token.isEmpty()) {
             logger.warn("reCAPTCHA token is missing");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
-        try {
-            // Prepare request
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
-            map.add("secret", secretKey);
-            map.add("response", token);
-
-            HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(map, headers);
-
-            // Call Google API
-            String response = restTemplate.postForObject(RECAPTCHA_VERIFY_URL, request, String.class);
-            JsonNode jsonNode = objectMapper.readTree(response);
-
-            boolean success = jsonNode.get("success").asBoolean();
-            double score = jsonNode.has("score") ? jsonNode.get("score").asDouble() : 0.0;
-            String responseAction = jsonNode.has("action") ? jsonNode.get("action").asText() : "";
-
-            logger.info("reCAPTCHA verification - Success: {}, Score: {}, Action: {}, Expected Action: {}", 
-                       success, score, responseAction, action);
-
-            // Check success, score threshold, and action match
-            if (!success) {
-                // Log error codes if present for better debugging
-                if (jsonNode.has("error-codes")) {
-                    logger.warn("reCAPTCHA verification failed: success=false. Error codes: {}. Response: {}", 
-                               jsonNode.get("error-codes").toString(), response);
-                } else {
-                    logger.warn("reCAPTCHA verification failed: success=false. Response: {}", response);
-                }
-                return false;
-            }
-            if (score < threshold) {
-                logger.warn("reCAPTCHA verification failed: score {} is below threshold {}. Response: {}", 
-                           score, threshold, response);
-                return false;
-            }
-            if (!action.equals(responseAction)) {
-                logger.warn("reCAPTCHA verification failed: action mismatch. Expected: {}, Got: {}. Response: {}", 
-                           action, responseAction, response);
-                return false;
-            }
-            
-            return true;
-
-        } catch (Exception e) {
-            logger.error("reCAPTCHA verification failed with exception: {}", e.getMessage(), e);
-            return false;
+        if (!markSeen(token)) {
+            logger.warn("reCAPTCHA verification failed: token was already used");
+            return CompletableFuture.completedFuture(false);
         }
-    }
 
-    /**
-     * Verify without action check (for backward compatibility)
-     * Note: This skips action validation and only checks success and score
-     */
-    public boolean verifyWithoutAction(String token) {
-        // Skip if reCAPTCHA is disabled
-        if (!enabled) {
-            logger.info("reCAPTCHA verification skipped (disabled)");
-            return true;
-        }
+        String form = "secret=" + URLEncoder.encode(secretKey, StandardCharsets.UTF_8)
+                + "&response=" + URLEncoder.encode(token, StandardCharsets.UTF_8);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(verifyUrl))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+
+        // The Google round trip, as a recaptcha.verify timer and span (outcome passed/rejected/error)
+        Observation observation = Observation.createNotStarted("recaptcha.verify", observationRegistry)
+                .contextualName("recaptcha verify")
+                .lowCardinalityKeyValue("action", action == null ? "none" : action)
+                .start();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> evaluate(response, action))
+                .whenComplete((passed, e) -> {
+                    if (e != null) {
+                        observation.error(e);
+                    }
+                    observation.lowCardinalityKeyValue("outcome", e != null ? "error" : passed ? "passed" : "rejected");
+                    observation.stop();
+                })
+                .exceptionally(e -> {
+                    // Google never saw (or never answered) this token: let the user retry with it
+                    seenTokens.invalidate(token);
+                    logger.error("reCAPTCHA verification failed with exception: {}", e.getMessage(), e);
+                    return false;
+                });
+    }
 
-        if (token == null || token.isEmpty()) {
-            logger.warn("reCAPTCHA token is missing");
+    private boolean evaluate(HttpResponse<byte[]> httpResponse, String action) {
+        if (httpResponse.statusCode() != 200) {
+            logger.warn("reCAPTCHA verification failed: HTTP {}", httpResponse.statusCode());
             return false;
         }
 
+        VerifyResponse response;
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
-            map.add("secret", secretKey);
-            map.add("response", token);
-
-            HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(map, headers);
+            response = responseReader.readValue(httpResponse.body());
+        } catch (IOException e) {
+            logger.error("reCAPTCHA verification failed: unreadable response", e);
+            return false;
+        }
 
-            String response = restTemplate.postForObject(RECAPTCHA_VERIFY_URL, request, String.class);
-            JsonNode jsonNode = objectMapper.readTree(response);
+        logger.info("reCAPTCHA verification - Success: {}, Score: {}, Action: {}, Expected Action: {}",
+                response.isSuccess(), response.getScore(), response.getAction(), action);
 
-            boolean success = jsonNode.get("success").asBoolean();
-            double score = jsonNode.has("score") ? jsonNode.get("score").asDouble() : 0.0;
+        // Check success, score threshold, and action match
+        if (!response.isSuccess()) {
+            logger.warn("reCAPTCHA verification failed: success=false. Error codes: {}", response.getErrorCodes());
+            return false;
+        }
+        if (response.getScore() < threshold) {
+            logger.warn("reCAPTCHA verification failed: score {} is below threshold {}",
+                    response.getScore(), threshold);
+            return false;
+        }
+        if (action != null && !action.equals(response.getAction())) {
+            logger.warn("reCAPTCHA verification failed: action mismatch. Expected: {}, Got: {}",
+                    action, response.getAction());
+            return false;
+        }
 
-            logger.info("reCAPTCHA verification (no action check) - Success: {}, Score: {}", success, score);
+        return true;
+    }
 
-            return success && score >= threshold;
+    /**
+     * @return false if the token was already seen within its lifetime
+     */
+    private boolean markSeen(String token) {
+        return seenTokens.asMap().putIfAbsent(token, Boolean.TRUE) == null;
+    }
 
-        } catch (Exception e) {
-            logger.error("reCAPTCHA verification failed", e);
-            return false;
-        }
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class VerifyResponse {
+        private boolean success;
+        private double score;
+        private String action;
+        @JsonProperty("error-codes")
+        private List<String> errorCodes;
     }
 }
-
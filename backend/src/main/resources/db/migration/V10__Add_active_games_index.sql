@@ -0,0 +1,2 @@
+-- Only a small slice of games is ACTIVE; the abandoned game reaper scans it by age
+CREATE INDEX IF NOT EXISTS idx_games_active_started_at ON games(started_at) WHERE status = 'ACTIVE';
@@ -0,0 +1,21 @@
+-- At most one ACTIVE game per user. Close any older duplicates left by earlier races first.
+UPDATE games SET status = 'LOST', ended_at = COALESCE(ended_at, CURRENT_TIMESTAMP)
+WHERE status = 'ACTIVE'
+  AND id NOT IN (
+      SELECT DISTINCT ON (user_id) id FROM games
+      WHERE status = 'ACTIVE'
+      ORDER BY user_id, started_at DESC, id DESC
+  );
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_games_one_active_per_user ON games(user_id) WHERE status = 'ACTIVE';
+
+-- Per-user game lookups: by user, by user + status, newest first
+CREATE INDEX IF NOT EXISTS idx_games_user_status_started_at ON games(user_id, status, started_at DESC);
+
+-- Conversation history: questions of one game in the order they were asked
+CREATE INDEX IF NOT EXISTS idx_questions_game_id_asked_at ON questions(game_id, asked_at);
+
+-- Superseded: leading columns of the composites above, and status alone is too unselective to help
+DROP INDEX IF EXISTS idx_games_user_id;
+DROP INDEX IF EXISTS idx_games_status;
+DROP INDEX IF EXISTS idx_questions_game_id;
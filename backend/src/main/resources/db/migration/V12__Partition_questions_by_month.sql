@@ -0,0 +1,66 @@
+-- Questions are append-only and grow fastest: range-partition them by month of asked_at,
+-- so old months can be archived (game_archive) and dropped as a whole.
+
+ALTER TABLE questions RENAME TO questions_legacy;
+
+CREATE TABLE questions (
+    id BIGSERIAL,
+    game_id BIGINT NOT NULL,
+    question_text TEXT NOT NULL,
+    answer_text TEXT NOT NULL,
+    asked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id, asked_at), -- must include the partition key
+    CONSTRAINT fk_questions_game FOREIGN KEY (game_id) REFERENCES games(id) ON DELETE CASCADE
+) PARTITION BY RANGE (asked_at);
+
+-- Safety net for rows outside every monthly partition; normally stays empty
+CREATE TABLE questions_default PARTITION OF questions DEFAULT;
+
+-- Creates the partition holding the month that starts at month_start (idempotent).
+-- Also called by QuestionPartitionJob to create partitions ahead of time.
+CREATE OR REPLACE FUNCTION create_questions_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    first_day DATE := date_trunc('month', month_start)::DATE;
+    partition_name TEXT := 'questions_y' || to_char(first_day, 'YYYY') || 'm' || to_char(first_day, 'MM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF questions FOR VALUES FROM (%L) TO (%L)',
+        partition_name, first_day, (first_day + INTERVAL '1 month')::DATE);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for every month with existing questions, and the next three
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(asked_at) FROM questions_legacy), CURRENT_TIMESTAMP))::DATE;
+BEGIN
+    WHILE month_start <= (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months')::DATE LOOP
+        PERFORM create_questions_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO questions (id, game_id, question_text, answer_text, asked_at)
+SELECT id, game_id, question_text, answer_text, COALESCE(asked_at, CURRENT_TIMESTAMP)
+FROM questions_legacy;
+
+SELECT setval(pg_get_serial_sequence('questions', 'id'),
+              COALESCE((SELECT MAX(id) FROM questions_legacy), 0) + 1, false);
+
+DROP TABLE questions_legacy;
+
+-- Created after the copy (faster); cascade to every partition
+CREATE INDEX IF NOT EXISTS idx_questions_game_id_asked_at ON questions(game_id, asked_at);
+CREATE INDEX IF NOT EXISTS idx_questions_asked_at ON questions(asked_at);
+
+-- Conversation history of games whose question partitions were archived and dropped.
+-- One JSON array per game; large values are compressed by PostgreSQL (TOAST).
+CREATE TABLE IF NOT EXISTS game_archive (
+    game_id BIGINT PRIMARY KEY REFERENCES games(id) ON DELETE CASCADE,
+    question_count INT NOT NULL,
+    questions JSONB NOT NULL, -- [{"question": ..., "answer": ..., "askedAt": ...}] in asked order
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,23 @@
+-- Without a default partition the monthly partitions are ordered, so a game's
+-- questions are read in asked_at order straight from the composite index (no
+-- Sort), and old partitions can be detached CONCURRENTLY (QuestionArchiveService).
+-- QuestionPartitionJob creates partitions months ahead, so inserts always have one.
+
+ALTER TABLE questions DETACH PARTITION questions_default;
+
+-- Anything that landed in the safety net gets a monthly partition of its own
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN SELECT DISTINCT date_trunc('month', asked_at)::DATE FROM questions_default LOOP
+        PERFORM create_questions_partition(month_start);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO questions (id, game_id, question_text, answer_text, asked_at)
+SELECT id, game_id, question_text, answer_text, asked_at
+FROM questions_default;
+
+DROP TABLE questions_default;
@@ -0,0 +1,9 @@
+-- The issue time from the game draft token a game was persisted from (see
+-- GameService). A replayed draft is recognised by this value alone, never by
+-- started_at, which the persisting node's clock sets.
+ALTER TABLE games ADD COLUMN draft_issued_at TIMESTAMP;
+
+-- Drafts issued before this column existed are still valid for a day
+-- (game.draft.ttl); started_at is the closest record of them there is.
+UPDATE games SET draft_issued_at = started_at
+WHERE started_at > CURRENT_TIMESTAMP - INTERVAL '1 day';
@@ -0,0 +1,12 @@
+-- Checkpoints for bulk email sends (digests), so a crashed run resumes instead of re-sending
+CREATE TABLE IF NOT EXISTS bulk_email_runs (
+    id BIGSERIAL PRIMARY KEY,
+    run_key VARCHAR(100) NOT NULL UNIQUE, -- e.g. weekly-digest:2026-W42
+    status VARCHAR(20) NOT NULL, -- RUNNING, COMPLETED, FAILED
+    last_user_id BIGINT NOT NULL DEFAULT 0, -- every recipient up to this user id has been handed to SendGrid
+    sent_count INT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
@@ -0,0 +1,14 @@
+-- History of scheduled background jobs. Only the node holding the job's advisory lock records a run.
+CREATE TABLE IF NOT EXISTS job_runs (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    node VARCHAR(255) NOT NULL, -- host that executed the run
+    status VARCHAR(20) NOT NULL, -- RUNNING, SUCCEEDED, FAILED, ABANDONED
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    duration_ms BIGINT,
+    error TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_runs_job_name_started_at ON job_runs(job_name, started_at DESC);
+CREATE INDEX IF NOT EXISTS idx_job_runs_running ON job_runs(started_at) WHERE status = 'RUNNING';
@@ -0,0 +1,115 @@
+package com.anime.guessgame;
+
+import com.anime.guessgame.email.BulkEmailService;
+import com.anime.guessgame.security.OAuth2AuthenticationSuccessHandler;
+import com.anime.guessgame.service.EmailService;
+import com.anime.guessgame.service.RecaptchaService;
+import com.anime.guessgame.support.ApplicationProcess;
+import com.anime.guessgame.support.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.File;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cold start as the first player after an idle spin-down sees it: the app is
+ * launched in a new JVM against the (already migrated) test database, and
+ * the clock runs from process start until the health check answers and
+ * then for the first API request.
+ *
+ * The timing test runs what the Dockerfile ships: mvn -Pcds verify hands
+ * failsafe the unpacked layout (-Dcds.layout), the test repeats the image's
+ * training run to create the AppCDS archive and then starts from it with the
+ * AOT bean definitions and the prod profile. The default targets leave room
+ * for a single-CPU runner and can be tightened per run with seconds values,
+ * e.g. -Dstartup.max-ready=15s -Dstartup.max-first-request=0.5s. The child's
+ * output goes to target/cold-start.log, its numbers to the startup report
+ * (see ApplicationProcess); NativeImageIntegrationTest does the same for
+ * the native executable.
+ */
+class ColdStartIntegrationTest extends IntegrationTestBase {
+
+    private static final Duration MAX_READY = Duration.parse("PT" + System.getProperty("startup.max-ready", "30s"));
+    private static final Duration MAX_FIRST_REQUEST = Duration.parse("PT" + System.getProperty("startup.max-first-request", "2s"));
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    @EnabledIfSystemProperty(named = "cds.layout", matches = ".+")
+    void startsAndServesTheFirstRequestWithinTargets() throws Exception {
+        File layout = new File(System.getProperty("cds.layout"));
+        Map<String, String> prod = ApplicationProcess.prodEnvironment(environment);
+        train(layout, prod);
+
+        try (ApplicationProcess app = ApplicationProcess.start(command("-XX:SharedArchiveFile=app.jsa"), prod, layout,
+                new File("target/cold-start.log"))) {
+            // Well past the target, so a slow start fails on the assertion with its actual time
+            Duration ready = app.awaitHealthy(MAX_READY.multipliedBy(3));
+            long requestStart = System.nanoTime();
+            HttpResponse<String> characters = app.send(app.request("/api/characters/all").build());
+            Duration firstRequest = Duration.ofNanos(System.nanoTime() - requestStart);
+            app.report("jvm-cds", ready, firstRequest);
+
+            assertThat(characters.statusCode()).isEqualTo(200);
+            assertThat(ready).as("time until /actuator/health is UP").isLessThanOrEqualTo(MAX_READY);
+            assertThat(firstRequest).as("first GET /api/characters/all").isLessThanOrEqualTo(MAX_FIRST_REQUEST);
+        }
+    }
+
+    @Test
+    void nonCriticalBeansAreCreatedOnFirstUse() {
+        for (Class<?> type : List.of(RecaptchaService.class, EmailService.class, BulkEmailService.class,
+                OAuth2AuthenticationSuccessHandler.class, OpenApiWebMvcResource.class)) {
+            String[] names = beanFactory.getBeanNamesForType(type, true, false);
+            assertThat(names).as(type.getSimpleName()).hasSize(1);
+            assertThat(beanFactory.getBeanDefinition(names[0]).isLazyInit()).as(type.getSimpleName()).isTrue();
+        }
+    }
+
+    /**
+     * The Docker build's training run: refresh the context, exit and archive
+     * the classes it loaded.
+     */
+    private static void train(File layout, Map<String, String> environment) throws Exception {
+        ProcessBuilder builder = new ProcessBuilder(command("-XX:ArchiveClassesAtExit=app.jsa",
+                "-Dspring.context.exit=onRefresh"))
+                .directory(layout)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/cds-training.log"));
+        builder.environment().putAll(environment);
+        Process training = builder.start();
+        if (!training.waitFor(MAX_READY.multipliedBy(3).toSeconds(), TimeUnit.SECONDS)) {
+            training.destroyForcibly();
+            throw new AssertionError("CDS training run did not exit, see target/cds-training.log");
+        }
+        assertThat(training.exitValue()).as("CDS training run, see target/cds-training.log").isZero();
+    }
+
+    /** The image's ENTRYPOINT, with options in place of its container ones. */
+    private static List<String> command(String... options) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(List.of(options));
+        command.add("-Dspring.aot.enabled=true");
+        command.add("@classpath.args");
+        command.add(AnimeGuessGameApplication.class.getName());
+        return command;
+    }
+}
@@ -0,0 +1,127 @@
+package com.anime.guessgame;
+
+import com.anime.guessgame.entity.User;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.support.ApplicationProcess;
+import com.anime.guessgame.support.IntegrationTestBase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the native executable (mvn -Pnative verify, which passes
+ * -Dnative.executable) against the test database and drives it over HTTP,
+ * so that a class or resource missing from the reachability metadata fails
+ * here rather than in production: Flyway validates the migrations,
+ * Hibernate loads entities and lazy associations, JJWT signs and parses the
+ * token and Bucket4j rate-limits the game endpoints.
+ *
+ * The executable was built with the prod profile, so it is started like the
+ * image is, with placeholder secrets. Nothing here asks the model: the
+ * chat cassette is switched off in that build, so it would go to OpenAI.
+ */
+@EnabledIfSystemProperty(named = "native.executable", matches = ".+")
+class NativeImageIntegrationTest extends IntegrationTestBase {
+
+    private static final Duration MAX_READY = Duration.parse("PT" + System.getProperty("startup.native.max-ready", "5s"));
+    private static final Duration MAX_FIRST_REQUEST = Duration.parse("PT" + System.getProperty("startup.native.max-first-request", "0.5s"));
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void startsAndServesTheFirstRequestWithinTargets() throws Exception {
+        try (ApplicationProcess app = start()) {
+            Duration ready = app.awaitHealthy(MAX_READY.multipliedBy(3));
+            long requestStart = System.nanoTime();
+            HttpResponse<String> characters = app.send(app.request("/api/characters/all").build());
+            Duration firstRequest = Duration.ofNanos(System.nanoTime() - requestStart);
+            app.report("native", ready, firstRequest);
+
+            assertThat(characters.statusCode()).isEqualTo(200);
+            assertThat(ready).as("time until /actuator/health is UP").isLessThanOrEqualTo(MAX_READY);
+            assertThat(firstRequest).as("first GET /api/characters/all").isLessThanOrEqualTo(MAX_FIRST_REQUEST);
+        }
+    }
+
+    @Test
+    void playsAGameThroughTheNativeExecutable() throws Exception {
+        userRepository.save(User.builder().username("native-player").email("native-player@example.com")
+                .password(passwordEncoder.encode("secret-password")).emailVerified(true).build());
+
+        try (ApplicationProcess app = start()) {
+            app.awaitHealthy(MAX_READY.multipliedBy(3));
+
+            HttpResponse<String> wrongPassword = app.send(post(app, "/api/auth/login",
+                    Map.of("username", "native-player", "password", "wrong")));
+            assertThat(wrongPassword.statusCode()).isEqualTo(401);
+
+            HttpResponse<String> login = app.send(post(app, "/api/auth/login",
+                    Map.of("username", "native-player", "password", "secret-password")));
+            assertThat(login.statusCode()).isEqualTo(200);
+            String bearer = "Bearer " + json(login).get("token").asText();
+
+            HttpResponse<String> started = app.send(app.request("/api/game/start")
+                    .header("Authorization", bearer)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build());
+            assertThat(started.statusCode()).isEqualTo(200);
+            assertThat(started.headers().firstValue("X-Rate-Limit-Remaining")).isPresent();
+
+            HttpResponse<String> current = app.send(app.request("/api/game/current")
+                    .header("Authorization", bearer)
+                    .header("X-Game-Draft", json(started).get("draftToken").asText()).build());
+            assertThat(current.statusCode()).isEqualTo(200);
+            assertThat(json(current).get("status").asText()).isEqualTo("ACTIVE");
+
+            HttpResponse<String> history = app.send(app.request("/api/game/history")
+                    .header("Authorization", bearer).build());
+            assertThat(history.statusCode()).isEqualTo(200);
+
+            // OAuth2 login is on in the prod build, so an anonymous request is sent to the login page
+            HttpResponse<String> anonymous = app.send(app.request("/api/game/history").build());
+            assertThat(anonymous.statusCode()).isEqualTo(302);
+        }
+    }
+
+    private ApplicationProcess start() throws IOException {
+        List<String> command = List.of(System.getProperty("native.executable"),
+                "--recaptcha.enabled=false",
+                "--sendgrid.enabled=false");
+        return ApplicationProcess.start(command, ApplicationProcess.prodEnvironment(environment),
+                new File("target/native-image.log"));
+    }
+
+    private HttpRequest post(ApplicationProcess app, String path, Object body) throws IOException {
+        return app.request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+}
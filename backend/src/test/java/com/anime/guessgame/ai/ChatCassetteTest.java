@@ -0,0 +1,74 @@
+package com.anime.guessgame.ai;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatCassetteTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysWhatWasRecordedAcrossSessions() throws IOException {
+        Path path = dir.resolve("chat.cassette");
+        try (ChatCassette cassette = ChatCassette.openForRecording(path)) {
+            cassette.append("Are you a pirate?", "Yes!", Duration.ofMillis(800));
+        }
+        try (ChatCassette cassette = ChatCassette.openForRecording(path)) {
+            cassette.append("Are you a ninja?", "No, I'm a pirate.", Duration.ofMillis(1200));
+            cassette.append("Are you a pirate?", "Of course!", Duration.ofMillis(900));
+        }
+
+        try (ChatCassette cassette = ChatCassette.openForReplay(path)) {
+            assertThat(cassette.find("Are you a ninja?"))
+                    .contains(new ChatCassette.Recording("No, I'm a pirate.", Duration.ofMillis(1200)));
+            // Repeated prompts come back in recording order, then wrap around
+            assertThat(cassette.find("Are you a pirate?")).map(ChatCassette.Recording::response).contains("Yes!");
+            assertThat(cassette.find("Are you a pirate?")).map(ChatCassette.Recording::response).contains("Of course!");
+            assertThat(cassette.find("Are you a pirate?")).map(ChatCassette.Recording::response).contains("Yes!");
+            assertThat(cassette.find("Are you a captain?")).isEmpty();
+        }
+    }
+
+    @Test
+    void tornLastRecordIsIgnored() throws IOException {
+        Path path = dir.resolve("chat.cassette");
+        try (ChatCassette cassette = ChatCassette.openForRecording(path)) {
+            cassette.append("Do you wear a hat?", "A straw one.", Duration.ofMillis(500));
+            cassette.append("Can you stretch?", "I'm made of rubber!", Duration.ofMillis(500));
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+
+        try (ChatCassette cassette = ChatCassette.openForReplay(path)) {
+            assertThat(cassette.find("Do you wear a hat?")).isPresent();
+            assertThat(cassette.find("Can you stretch?")).isEmpty();
+        }
+    }
+
+    @Test
+    void replayFailsOnUnrecordedPrompts() throws IOException {
+        Path path = dir.resolve("chat.cassette");
+        ChatCassette.openForRecording(path).close();
+
+        try (ChatCassette cassette = ChatCassette.openForReplay(path)) {
+            CassetteChatModel model = new CassetteChatModel(CassetteChatModel.Mode.REPLAY, cassette,
+                    () -> { throw new AssertionError("replay must not call the real model"); }, 0);
+
+            assertThatThrownBy(() -> model.call(new Prompt("Who are you?")))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("ai.cassette.mode=record");
+        }
+    }
+}
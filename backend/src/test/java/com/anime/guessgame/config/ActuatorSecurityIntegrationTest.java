@@ -0,0 +1,87 @@
+package com.anime.guessgame.config;
+
+import com.anime.guessgame.support.IntegrationTestBase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Operator endpoints take the management.operator account only; a player
+ * account, which anyone can register, is not enough.
+ */
+class ActuatorSecurityIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void jobsRequireTheOperator() throws Exception {
+        mockMvc.perform(get("/actuator/jobs")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jobs").with(user("player"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/jobs").with(httpBasic("operator", "wrong"))).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jobs").with(httpBasic("operator", "test-operator"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void flightRecordingRequiresTheOperator() throws Exception {
+        mockMvc.perform(get("/actuator/flightrecording")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/flightrecording").with(user("player"))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void characterCacheEvictionRequiresTheOperator() throws Exception {
+        mockMvc.perform(delete("/actuator/charactercache").with(user("player"))).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/charactercache").with(httpBasic("operator", "test-operator")))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void metricsRequireTheOperator() throws Exception {
+        // @SpringBootTest switches the Prometheus registry off, so this goes through /actuator/metrics
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").with(user("player"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("operator", "test-operator"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void logLevelsAreChangedByTheOperatorOnly() throws Exception {
+        String debug = "{\"configuredLevel\": \"DEBUG\"}";
+        mockMvc.perform(get("/actuator/loggers").with(user("player"))).andExpect(status().isForbidden());
+        mockMvc.perform(post("/actuator/loggers/org.hibernate.SQL").with(user("player"))
+                .contentType(MediaType.APPLICATION_JSON).content(debug)).andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/actuator/loggers/org.hibernate.SQL").with(httpBasic("operator", "test-operator"))
+                .contentType(MediaType.APPLICATION_JSON).content(debug)).andExpect(status().isNoContent());
+        mockMvc.perform(post("/actuator/loggers/org.hibernate.SQL").with(httpBasic("operator", "test-operator"))
+                .contentType(MediaType.APPLICATION_JSON).content("{}")).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void operatorRequestsStayOffTheLoginHashingPool() throws Exception {
+        long hashed = meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count();
+
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("operator", "test-operator"))).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("operator", "wrong"))).andExpect(status().isUnauthorized());
+
+        assertThat(meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count())
+                .isEqualTo(hashed);
+    }
+}
@@ -0,0 +1,64 @@
+package com.anime.guessgame.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AotConditionsTest {
+
+    @Test
+    void sameSettingsAsTheBuildPass() {
+        Properties built = AotConditions.evaluate(prod());
+
+        assertThat(AotConditions.mismatches(built, prod())).isEmpty();
+    }
+
+    @Test
+    void settingsThatWouldSwitchABeanAreReported() {
+        Properties built = AotConditions.evaluate(prod());
+
+        MockEnvironment runtime = prod()
+                .withProperty("spring.datasource.replica.url", "jdbc:postgresql://replica:5432/anime_guess_game")
+                .withProperty("oauth2.enabled", "false")
+                .withProperty("jfr.enabled", "false");
+
+        assertThat(AotConditions.mismatches(built, runtime))
+                .hasSize(3)
+                .anyMatch(line -> line.startsWith("spring.datasource.replica.url"))
+                .anyMatch(line -> line.startsWith("oauth2.enabled"))
+                .anyMatch(line -> line.startsWith("jfr.enabled"));
+    }
+
+    @Test
+    void frameworkSettingsFromTheEnvironmentAreReported() {
+        Properties built = AotConditions.evaluate(prod());
+
+        MockEnvironment runtime = prod()
+                .withProperty("management.otlp.tracing.endpoint", "http://otel-collector:4318/v1/traces");
+
+        assertThat(AotConditions.mismatches(built, runtime))
+                .singleElement()
+                .satisfies(line -> assertThat(line).startsWith("management.otlp.tracing.endpoint"));
+    }
+
+    @Test
+    void explicitDefaultsMatchMissingProperties() {
+        Properties built = AotConditions.evaluate(prod());
+
+        MockEnvironment runtime = prod()
+                .withProperty("tracing.tail-sampling.enabled", "true")
+                .withProperty("tracing.file-export.enabled", "false")
+                .withProperty("maintenance.token-purge.enabled", "true");
+
+        assertThat(AotConditions.mismatches(built, runtime)).isEmpty();
+    }
+
+    private static MockEnvironment prod() {
+        MockEnvironment environment = new MockEnvironment().withProperty("oauth2.enabled", "true");
+        environment.setActiveProfiles("prod");
+        return environment;
+    }
+}
@@ -0,0 +1,71 @@
+package com.anime.guessgame.config;
+
+import com.anime.guessgame.entity.User;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.service.GameService;
+import com.anime.guessgame.support.IntegrationTestBase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The application meters behind monitoring/grafana/anime-guess-game.json.
+ */
+class MetricsIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void gamePhasesAndChatCallsAreTimed() {
+        userRepository.save(User.builder().username("player").email("player@example.com").password("hash").build());
+
+        String draftToken = gameService.startNewGame("player").getDraftToken();
+        gameService.askQuestion("player", "Are you a pirate?", draftToken);
+
+        assertThat(meterRegistry.find("game.phase").tags("operation", "start", "phase", "respond").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+        assertThat(meterRegistry.find("game.phase").tags("operation", "ask", "phase", "ai").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+        // The character is random, so the replayed cassette may not have this answer
+        assertThat(meterRegistry.find("ai.chat.calls").timers())
+                .isNotEmpty();
+    }
+
+    @Test
+    void rateLimitRejectionsAreCountedPerBucket() throws Exception {
+        double before = authRejections();
+
+        // The auth bucket allows five requests a minute per client
+        for (int i = 0; i < 6; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                    .header("X-Forwarded-For", "203.0.113.44")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"username\":\"nobody\",\"password\":\"wrong\"}"));
+        }
+
+        assertThat(authRejections()).isEqualTo(before + 1);
+    }
+
+    private double authRejections() {
+        return meterRegistry.find("ratelimit.rejections").tag("bucket", "auth").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
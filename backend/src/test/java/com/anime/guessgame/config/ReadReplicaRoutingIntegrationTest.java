@@ -0,0 +1,99 @@
+package com.anime.guessgame.config;
+
+import com.anime.guessgame.support.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Uses the test database as its own "replica"; the replica pool tags its
+ * sessions so each query can tell which pool served it.
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.replica.url=${spring.datasource.url}",
+        "spring.datasource.replica.hikari.connection-init-sql=SET application_name TO 'replica'"
+})
+class ReadReplicaRoutingIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void awaitReplica() {
+        // The first lag check runs on the scheduler, after startup
+        await().atMost(Duration.ofSeconds(10)).until(replicaLagMonitor::isUsable);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(applicationName(true)).isEqualTo("replica");
+        assertThat(applicationName(false)).isNotEqualTo("replica");
+        assertThat(jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class))
+                .isNotEqualTo("replica");
+    }
+
+    @Test
+    void userReadsTheirOwnWritesFromThePrimary() {
+        authenticate("writer");
+        assertThat(applicationName(true)).isEqualTo("replica");
+
+        applicationName(false);
+
+        // Same (mock) request as the write
+        assertThat(applicationName(true)).isNotEqualTo("replica");
+
+        // Later requests by the same user
+        RequestContextHolder.resetRequestAttributes();
+        assertThat(applicationName(true)).isNotEqualTo("replica");
+        authenticate("someoneElse");
+        assertThat(applicationName(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void backgroundWritesDoNotKeepReadsOnThePrimary() {
+        // A scheduled job: no request, possibly with a user in its security context
+        RequestContextHolder.resetRequestAttributes();
+        authenticate("job");
+
+        applicationName(false);
+
+        assertThat(applicationName(true)).isEqualTo("replica");
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
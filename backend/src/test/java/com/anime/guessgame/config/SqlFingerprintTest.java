@@ -0,0 +1,37 @@
+package com.anime.guessgame.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    @Test
+    void literalsBecomePlaceholders() {
+        assertThat(SqlFingerprint.of("select * from games where user_id = 42 and status = 'ACTIVE'"))
+                .isEqualTo("select * from games where user_id = ? and status = ?");
+        assertThat(SqlFingerprint.of("update users set name = 'O''Brien', score = -1.5 where id = 7"))
+                .isEqualTo("update users set name = ?, score = ? where id = ?");
+    }
+
+    @Test
+    void identifiersWithDigitsAreKept() {
+        assertThat(SqlFingerprint.of("select g1_0.id from games g1_0 where g1_0.id = $1"))
+                .isEqualTo("select g1_0.id from games g1_0 where g1_0.id = $1");
+    }
+
+    @Test
+    void listsOfAnySizeShareAFingerprint() {
+        assertThat(SqlFingerprint.of("select * from characters where id in (?, ?, ?)"))
+                .isEqualTo(SqlFingerprint.of("select * from characters where id in (1, 2, 3, 4, 5)"))
+                .isEqualTo("select * from characters where id in (?+)");
+        assertThat(SqlFingerprint.of("insert into questions (game_id, text) values (?, ?), (?, ?), (?, ?)"))
+                .isEqualTo("insert into questions (game_id, text) values (?+)");
+    }
+
+    @Test
+    void commentsAndWhitespaceAreDropped() {
+        assertThat(SqlFingerprint.of("/* load Game */ select\n    g.id\n from games g -- by id\n where g.id = ?"))
+                .isEqualTo("select g.id from games g where g.id = ?");
+    }
+}
@@ -0,0 +1,141 @@
+package com.anime.guessgame.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanProcessorTest {
+
+    private final List<String> exported = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void fastTracesAreDroppedAndSlowOnesKeptWhole() {
+        Tracer tracer = tracer(0.0, 16);
+
+        trace(tracer, "fast", 10);
+        trace(tracer, "slow", 2_500);
+
+        assertThat(exported).containsExactly("slow.child", "slow");
+        assertThat(decisions("dropped")).isEqualTo(1);
+        assertThat(decisions("slow")).isEqualTo(1);
+    }
+
+    @Test
+    void aFailedChildKeepsItsTrace() {
+        Tracer tracer = tracer(0.0, 16);
+
+        long start = System.nanoTime();
+        Span root = tracer.spanBuilder("request").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        Span child = tracer.spanBuilder("chat").setParent(Context.current().with(root)).startSpan();
+        child.setStatus(StatusCode.ERROR);
+        child.end();
+        root.end(start + 10_000_000, TimeUnit.NANOSECONDS);
+
+        assertThat(exported).containsExactly("chat", "request");
+        assertThat(decisions("error")).isEqualTo(1);
+    }
+
+    @Test
+    void spansEndingAfterTheirRootFollowItsDecision() {
+        Tracer tracer = tracer(0.0, 16);
+
+        long start = System.nanoTime();
+        Span root = tracer.spanBuilder("slow").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        Span late = tracer.spanBuilder("async email").setParent(Context.current().with(root)).startSpan();
+        root.end(start + 3_000_000_000L, TimeUnit.NANOSECONDS);
+        late.end();
+
+        assertThat(exported).containsExactly("slow", "async email");
+    }
+
+    @Test
+    void aLongTraceKeepsItsSlotWhileOthersAreFree() {
+        Tracer tracer = tracer(0.0, 2);
+
+        long start = System.nanoTime();
+        Span first = tracer.spanBuilder("first").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        tracer.spanBuilder("first.child").setParent(Context.current().with(first)).startSpan().end();
+        trace(tracer, "second", 10);
+        trace(tracer, "third", 10);
+        first.end(start + 3_000_000_000L, TimeUnit.NANOSECONDS);
+
+        assertThat(exported).containsExactly("first.child", "first");
+        assertThat(meterRegistry.get("tracing.tail.evictions").counter().count()).isZero();
+    }
+
+    @Test
+    void openTracesAreEvictedWhenTheBufferWraps() {
+        Tracer tracer = tracer(0.0, 1);
+
+        long start = System.nanoTime();
+        Span first = tracer.spanBuilder("first").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        tracer.spanBuilder("first.child").setParent(Context.current().with(first)).startSpan().end();
+        trace(tracer, "second", 10);
+        first.end(start + 3_000_000_000L, TimeUnit.NANOSECONDS);
+
+        // The slow trace is still kept, but only its root survived
+        assertThat(exported).containsExactly("first");
+        assertThat(meterRegistry.get("tracing.tail.evictions").counter().count()).isEqualTo(1);
+    }
+
+    private Tracer tracer(double baselineRatio, int maxTraces) {
+        SpanProcessor exporter = new SpanProcessor() {
+            @Override
+            public void onStart(Context parentContext, ReadWriteSpan span) {
+            }
+
+            @Override
+            public boolean isStartRequired() {
+                return false;
+            }
+
+            @Override
+            public void onEnd(ReadableSpan span) {
+                exported.add(span.getName());
+            }
+
+            @Override
+            public boolean isEndRequired() {
+                return true;
+            }
+        };
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(new TailSamplingSpanProcessor(exporter, Duration.ofSeconds(2), baselineRatio,
+                        maxTraces, 8, meterRegistry))
+                .build();
+        return tracerProvider.get("test");
+    }
+
+    private static void trace(Tracer tracer, String name, long durationMillis) {
+        long start = System.nanoTime();
+        Span root = tracer.spanBuilder(name).setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        tracer.spanBuilder(name + ".child").setParent(Context.current().with(root)).startSpan().end();
+        root.end(start + TimeUnit.MILLISECONDS.toNanos(durationMillis), TimeUnit.NANOSECONDS);
+    }
+
+    private double decisions(String decision) {
+        return meterRegistry.get("tracing.tail.traces").tag("decision", decision).counter().count();
+    }
+}
@@ -0,0 +1,131 @@
+package com.anime.guessgame.controller;
+
+import com.anime.guessgame.entity.Game;
+import com.anime.guessgame.entity.Question;
+import com.anime.guessgame.entity.User;
+import com.anime.guessgame.repository.CharacterRepository;
+import com.anime.guessgame.repository.GameRepository;
+import com.anime.guessgame.repository.QuestionRepository;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.service.CharacterService;
+import com.anime.guessgame.support.IntegrationTestBase;
+import com.anime.guessgame.support.SqlStatementRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Upper bounds on the SQL statements each endpoint issues, so N+1 patterns
+ * fail the build instead of creeping in. Counts are taken with a cold
+ * character cache. Every call is also written to the per-endpoint report
+ * (target/sql-statement-report.tsv).
+ */
+class EndpointSqlBudgetIntegrationTest extends IntegrationTestBase {
+
+    private static final String DRAFT_HEADER = "X-Game-Draft";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private CharacterService characterService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder().username("player").email("player@example.com").password("hash").build());
+        characterService.evictCharacterCaches();
+    }
+
+    @Test
+    void gameLifecycle() throws Exception {
+        String draftToken = objectMapper.readTree(call("POST /api/game/start", 3,
+                post("/api/game/start").with(user("player"))).getResponse().getContentAsString())
+                .get("draftToken").asText();
+
+        call("GET /api/game/current (draft)", 2,
+                get("/api/game/current").header(DRAFT_HEADER, draftToken).with(user("player")));
+        call("POST /api/game/ask (first question)", 6,
+                post("/api/game/ask").header(DRAFT_HEADER, draftToken).with(user("player"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("question", "Are you a pirate?"))));
+        call("POST /api/game/ask", 5,
+                post("/api/game/ask").header(DRAFT_HEADER, draftToken).with(user("player"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("question", "Do you wear a hat?"))));
+        call("GET /api/game/current", 3,
+                get("/api/game/current").header(DRAFT_HEADER, draftToken).with(user("player")));
+        call("POST /api/game/guess", 4,
+                post("/api/game/guess").header(DRAFT_HEADER, draftToken).with(user("player"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("characterName", "Nobody"))));
+    }
+
+    @Test
+    void historyDoesNotGrowWithTheNumberOfGames() throws Exception {
+        User player = userRepository.findByUsername("player").orElseThrow();
+        for (int i = 0; i < 10; i++) {
+            Game game = gameRepository.save(Game.builder()
+                    .user(player)
+                    .character(characterRepository.findRandomActiveCharacter().orElseThrow())
+                    .status(Game.GameStatus.LOST)
+                    .questionsCount(2)
+                    .endedAt(LocalDateTime.now())
+                    .build());
+            for (int q = 0; q < 2; q++) {
+                questionRepository.save(Question.builder()
+                        .game(game).questionText("Question " + q).answerText("Answer " + q).build());
+            }
+        }
+        characterService.evictCharacterCaches();
+
+        call("GET /api/game/history", 2, get("/api/game/history").with(user("player")));
+    }
+
+    @Test
+    void characterLists() throws Exception {
+        call("GET /api/characters/all", 1, get("/api/characters/all"));
+        call("GET /api/characters/admin/all", 1, get("/api/characters/admin/all").with(user("player")));
+    }
+
+    private MvcResult call(String endpoint, int maxStatements, RequestBuilder request) throws Exception {
+        MvcResult[] result = new MvcResult[1];
+        SqlStatementRecorder.Capture capture = captureSql(endpoint,
+                () -> result[0] = mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn());
+
+        assertThat(capture.count()).as("%s issued %s", endpoint, capture).isLessThanOrEqualTo(maxStatements);
+        return result[0];
+    }
+
+    private String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+}
@@ -0,0 +1,157 @@
+package com.anime.guessgame.email;
+
+import com.anime.guessgame.entity.BulkEmailRun;
+import com.anime.guessgame.repository.BulkEmailRunRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A run that dies part-way resumes from its checkpoint: batches already
+ * accepted by SendGrid are not sent again, and nothing is marked delivered
+ * while sending is disabled.
+ */
+class BulkEmailServiceIntegrationTest extends IntegrationTestBase {
+
+    private static final String RUN_KEY = "test-campaign";
+
+    @Autowired
+    private BulkEmailService bulkEmailService;
+
+    @Autowired
+    private BulkEmailRunRepository runRepository;
+
+    private RecordingSendGrid sendGrid;
+    private Object originalSendGrid;
+
+    @BeforeEach
+    void setUp() {
+        sendGrid = new RecordingSendGrid();
+        originalSendGrid = ReflectionTestUtils.getField(bulkEmailService, "sendGrid");
+        ReflectionTestUtils.setField(bulkEmailService, "sendGrid", sendGrid);
+        ReflectionTestUtils.setField(bulkEmailService, "batchSize", 2);
+        ReflectionTestUtils.setField(bulkEmailService, "parallelism", 1);
+        ReflectionTestUtils.setField(bulkEmailService, "enabled", true);
+    }
+
+    @AfterEach
+    void restore() {
+        ReflectionTestUtils.setField(bulkEmailService, "sendGrid", originalSendGrid);
+        ReflectionTestUtils.setField(bulkEmailService, "enabled", false);
+        runRepository.deleteAll();
+    }
+
+    @Test
+    void resumesAFailedRunFromItsCheckpoint() {
+        sendGrid.failOnCall = 2;
+
+        BulkEmailRun failed = bulkEmailService.send(new Campaign(5));
+
+        assertThat(failed.getStatus()).isEqualTo(BulkEmailRun.RunStatus.FAILED);
+        assertThat(failed.getLastUserId()).isEqualTo(2L);
+        assertThat(failed.getSentCount()).isEqualTo(2);
+
+        sendGrid.failOnCall = 0;
+        sendGrid.recipients.clear();
+        BulkEmailRun resumed = bulkEmailService.send(new Campaign(5));
+
+        assertThat(resumed.getStatus()).isEqualTo(BulkEmailRun.RunStatus.COMPLETED);
+        assertThat(resumed.getSentCount()).isEqualTo(5);
+        assertThat(sendGrid.recipients).containsExactly("user3@example.com", "user4@example.com", "user5@example.com");
+    }
+
+    @Test
+    void disabledSendingFailsTheRunInsteadOfCompletingIt() {
+        ReflectionTestUtils.setField(bulkEmailService, "enabled", false);
+
+        BulkEmailRun skipped = bulkEmailService.send(new Campaign(3));
+
+        assertThat(skipped.getStatus()).isEqualTo(BulkEmailRun.RunStatus.FAILED);
+        assertThat(skipped.getSentCount()).isZero();
+        assertThat(sendGrid.recipients).isEmpty();
+
+        ReflectionTestUtils.setField(bulkEmailService, "enabled", true);
+        BulkEmailRun sent = bulkEmailService.send(new Campaign(3));
+
+        assertThat(sent.getStatus()).isEqualTo(BulkEmailRun.RunStatus.COMPLETED);
+        assertThat(sendGrid.recipients).hasSize(3);
+    }
+
+    private static final class Campaign implements BulkEmailCampaign {
+
+        private final int recipients;
+
+        private Campaign(int recipients) {
+            this.recipients = recipients;
+        }
+
+        @Override
+        public String getRunKey() {
+            return RUN_KEY;
+        }
+
+        @Override
+        public String getSubject() {
+            return "Test campaign";
+        }
+
+        @Override
+        public String getHtmlContent() {
+            return "<p>Hello -username-</p>";
+        }
+
+        @Override
+        public Stream<BulkEmailRecipient> streamRecipients(long afterUserId) {
+            return LongStream.rangeClosed(afterUserId + 1, recipients)
+                    .mapToObj(id -> new BulkEmailRecipient(id, "user" + id + "@example.com",
+                            Map.of("-username-", "user" + id)));
+        }
+    }
+
+    /**
+     * Accepts every request except the failOnCall-th (1-based; 0 = never) and
+     * records the recipients of the accepted ones.
+     */
+    private static final class RecordingSendGrid extends SendGrid {
+
+        private static final Pattern RECIPIENT = Pattern.compile("\"email\":\"(user\\d+@example\\.com)\"");
+
+        private final List<String> recipients = new ArrayList<>();
+        private int calls;
+        private int failOnCall;
+
+        private RecordingSendGrid() {
+            super("test-key");
+        }
+
+        @Override
+        public Response api(Request request) throws IOException {
+            calls++;
+            if (calls == failOnCall) {
+                throw new IOException("connection reset");
+            }
+            Matcher matcher = RECIPIENT.matcher(request.getBody());
+            while (matcher.find()) {
+                recipients.add(matcher.group(1));
+            }
+            return new Response(202, "", Map.of());
+        }
+    }
+}
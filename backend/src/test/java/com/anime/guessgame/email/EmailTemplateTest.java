@@ -0,0 +1,62 @@
+package com.anime.guessgame.email;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateTest {
+
+    @Test
+    void renderEscapesValuesAndKeepsCssBraces() {
+        EmailTemplate template = EmailTemplate.compile("test",
+                "<style>.a { width: 100%; }</style><p>Hi {{name}}!</p>");
+
+        String html = template.render(Map.of("name", "<script>alert('x')</script>"));
+
+        assertThat(html).isEqualTo("<style>.a { width: 100%; }</style>"
+                + "<p>Hi &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;!</p>");
+    }
+
+    @Test
+    void triplePlaceholderInsertsRawValue() {
+        EmailTemplate template = EmailTemplate.compile("test", "<p>{{{body}}}</p>");
+
+        assertThat(template.render(Map.of("body", "line1<br>line2"))).isEqualTo("<p>line1<br>line2</p>");
+        assertThat(template.getKeys()).containsExactly("body");
+    }
+
+    @Test
+    void missingValueFailsLoudly() {
+        EmailTemplate template = EmailTemplate.compile("test", "<p>{{name}}</p>");
+
+        assertThatThrownBy(() -> template.render(Map.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("name");
+    }
+
+    @Test
+    void unclosedPlaceholderIsRejectedAtCompileTime() {
+        assertThatThrownBy(() -> EmailTemplate.compile("broken", "<p>{{name</p>"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("broken");
+    }
+
+    @Test
+    void engineCompilesBundledTemplates() throws Exception {
+        EmailTemplateEngine engine = new EmailTemplateEngine();
+        engine.preloadTemplates();
+
+        String html = engine.render("contact", Map.of(
+                "fromName", "A & B",
+                "fromEmail", "ab@example.com",
+                "messageHtml", HtmlEscaper.escape("<b>hi</b>").replace("\n", "<br>")));
+
+        assertThat(html)
+                .contains("<span class=\"info-label\">Name:</span> A &amp; B")
+                .contains("&lt;b&gt;hi&lt;/b&gt;")
+                .contains("100%);");
+    }
+}
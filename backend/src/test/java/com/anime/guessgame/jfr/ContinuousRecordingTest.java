@@ -0,0 +1,58 @@
+package com.anime.guessgame.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContinuousRecordingTest {
+
+    private final ContinuousRecording continuousRecording = new ContinuousRecording();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(continuousRecording, "settings", "default");
+        ReflectionTestUtils.setField(continuousRecording, "maxAge", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(continuousRecording, "maxSize", DataSize.ofMegabytes(16));
+        continuousRecording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        continuousRecording.stop();
+    }
+
+    @Test
+    void dumpContainsAppEventsButNoEnvironment(@TempDir Path dir) throws Exception {
+        GameEndedEvent event = new GameEndedEvent();
+        event.setGameId(42);
+        event.setCharacterId(7);
+        event.setResult("WON");
+        event.setQuestionsCount(5);
+        event.commit();
+
+        Path dump = dir.resolve("recording.jfr");
+        continuousRecording.dump(dump);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        assertThat(events)
+                .filteredOn(recorded -> recorded.getEventType().getName().equals("com.anime.guessgame.GameEnded"))
+                .singleElement()
+                .satisfies(recorded -> {
+                    assertThat(recorded.getLong("gameId")).isEqualTo(42);
+                    assertThat(recorded.getString("result")).isEqualTo("WON");
+                });
+        assertThat(events).noneMatch(recorded -> recorded.getEventType().getName().startsWith("jdk.InitialEnvironmentVariable")
+                || recorded.getEventType().getName().startsWith("jdk.InitialSystemProperty"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.anime.guessgame.job;
+
+import com.anime.guessgame.entity.JobRun;
+import com.anime.guessgame.repository.JobRunRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ClusterJobRunnerIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private ClusterJobRunner clusterJobRunner;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @AfterEach
+    void cleanJobRuns() {
+        jobRunRepository.deleteAll();
+    }
+
+    @Test
+    void recordsSuccessfulAndFailedRuns() {
+        assertThat(clusterJobRunner.runExclusive("ok-job", () -> { })).isTrue();
+        assertThat(clusterJobRunner.runExclusive("failing-job", () -> {
+            throw new IllegalStateException("boom");
+        })).isTrue();
+
+        assertThat(jobRunRepository.findLatestPerJob())
+                .extracting(JobRun::getJobName, JobRun::getStatus)
+                .containsExactly(
+                        tuple("failing-job", JobRun.RunStatus.FAILED),
+                        tuple("ok-job", JobRun.RunStatus.SUCCEEDED));
+    }
+
+    @Test
+    void secondRunnerSkipsWhileLeaseIsHeld() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() ->
+                clusterJobRunner.runExclusive("leased-job", () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                }));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        boolean second = clusterJobRunner.runExclusive("leased-job", () -> { });
+        release.countDown();
+
+        assertThat(second).isFalse();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobRunRepository.findTop20ByJobNameOrderByStartedAtDesc("leased-job")).hasSize(1);
+
+        // The lease is free again once the first run finished
+        assertThat(clusterJobRunner.runExclusive("leased-job", () -> { })).isTrue();
+    }
+
+    @Test
+    void runLeftRunningByADeadNodeIsMarkedAbandoned() {
+        JobRun orphan = jobRunRepository.save(JobRun.builder()
+                .jobName("orphaned-job")
+                .node("dead-node")
+                .status(JobRun.RunStatus.RUNNING)
+                .startedAt(LocalDateTime.now().minusDays(1))
+                .build());
+
+        clusterJobRunner.detectStuckRuns();
+
+        assertThat(jobRunRepository.findById(orphan.getId()))
+                .get()
+                .extracting(JobRun::getStatus)
+                .isEqualTo(JobRun.RunStatus.ABANDONED);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
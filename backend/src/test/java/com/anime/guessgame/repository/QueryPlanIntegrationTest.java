@@ -0,0 +1,185 @@
+package com.anime.guessgame.repository;
+
+import com.anime.guessgame.support.IntegrationTestBase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the hot game/question queries against regressing to sequential
+ * scans. Seeds production-like volumes (many users, dozens of finished games
+ * each, one active game for most of them) and inspects EXPLAIN output.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIntegrationTest extends IntegrationTestBase {
+
+    private static final int USERS = 5_000;
+    private static final int GAMES_PER_USER = 20;
+    private static final int QUESTIONS_PER_GAME = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private long gameId;
+
+    @BeforeAll
+    void seed() {
+        // Games go back up to GAMES_PER_USER hours, possibly into last month
+        jdbcTemplate.queryForObject("SELECT create_questions_partition((CURRENT_TIMESTAMP - INTERVAL '1 day')::DATE)",
+                String.class);
+        jdbcTemplate.update("""
+                INSERT INTO users (username, email, password, created_at)
+                SELECT 'plan' || i, 'plan' || i || '@example.com', 'hash', CURRENT_TIMESTAMP
+                FROM generate_series(1, ?) AS i
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO games (user_id, character_id, status, questions_count, started_at, ended_at)
+                SELECT u.id,
+                       (SELECT MIN(id) FROM characters),
+                       CASE WHEN g = ? AND u.id % 10 <> 0 THEN 'ACTIVE' WHEN g % 3 = 0 THEN 'WON' ELSE 'LOST' END,
+                       ?,
+                       CURRENT_TIMESTAMP - make_interval(hours => ? - g),
+                       CASE WHEN g = ? AND u.id % 10 <> 0 THEN NULL ELSE CURRENT_TIMESTAMP - make_interval(hours => ? - g) END
+                FROM users u CROSS JOIN generate_series(1, ?) AS g
+                WHERE u.username LIKE 'plan%'
+                """, GAMES_PER_USER, QUESTIONS_PER_GAME, GAMES_PER_USER, GAMES_PER_USER, GAMES_PER_USER, GAMES_PER_USER);
+        jdbcTemplate.update("""
+                INSERT INTO questions (game_id, question_text, answer_text, asked_at)
+                SELECT g.id, 'Question ' || q, 'Answer ' || q, g.started_at + make_interval(mins => q)
+                FROM games g CROSS JOIN generate_series(1, ?) AS q
+                """, QUESTIONS_PER_GAME);
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE games");
+        jdbcTemplate.execute("ANALYZE questions");
+
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'plan1234'", Long.class);
+        gameId = jdbcTemplate.queryForObject(
+                "SELECT id FROM games WHERE user_id = ? ORDER BY started_at LIMIT 1", Long.class, userId);
+    }
+
+    @AfterAll
+    void truncate() {
+        jdbcTemplate.execute("TRUNCATE users, games, questions CASCADE");
+    }
+
+    /** The seeded data is shared by every test in this class; see {@link #truncate()} */
+    @Override
+    @AfterEach
+    protected void cleanDatabase() {
+    }
+
+    @Test
+    void activeGameLookupUsesAnIndex() throws Exception {
+        assertIndexScan("""
+                SELECT * FROM games
+                WHERE user_id = %d AND status = 'ACTIVE'
+                ORDER BY started_at DESC
+                """.formatted(userId));
+    }
+
+    @Test
+    void gameHistoryLookupUsesAnIndex() throws Exception {
+        assertIndexScan("SELECT * FROM games WHERE user_id = %d".formatted(userId));
+        assertIndexScan("SELECT * FROM games WHERE user_id = %d AND status = 'WON'".formatted(userId));
+    }
+
+    @Test
+    void conversationHistoryUsesTheCompositeIndexWithoutSorting() throws Exception {
+        // questions is partitioned by month; the index is inherited by each partition under its own name
+        List<JsonNode> nodes = assertIndexScan(
+                "SELECT * FROM questions WHERE game_id = %d ORDER BY asked_at".formatted(gameId));
+
+        assertThat(nodes).extracting(node -> node.path("Index Name").asText())
+                .anyMatch(name -> name.endsWith("game_id_asked_at_idx"));
+
+        // With no default partition (V13) the partitions can be read in index order. For a
+        // handful of rows the planner may still find a Sort cheaper than index scans of the
+        // empty future partitions, so check that a plan without one exists
+        String orderedPlan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_sort = off");
+                try (ResultSet explain = statement.executeQuery("EXPLAIN (FORMAT JSON) SELECT * FROM questions "
+                        + "WHERE game_id = %d ORDER BY asked_at".formatted(gameId))) {
+                    explain.next();
+                    return explain.getString(1);
+                } finally {
+                    statement.execute("RESET enable_sort");
+                }
+            }
+        });
+        assertThat(nodes(orderedPlan)).extracting(node -> node.path("Node Type").asText()).doesNotContain("Sort");
+    }
+
+    @Test
+    void abandonedGameScanUsesThePartialIndex() throws Exception {
+        List<JsonNode> nodes = assertIndexScan("""
+                SELECT g.id FROM games g
+                WHERE g.status = 'ACTIVE'
+                  AND g.started_at < CURRENT_TIMESTAMP - INTERVAL '6 hours'
+                  AND NOT EXISTS (
+                      SELECT 1 FROM questions q
+                      WHERE q.game_id = g.id AND q.asked_at >= CURRENT_TIMESTAMP - INTERVAL '6 hours'
+                  )
+                LIMIT 1000
+                """);
+
+        assertThat(nodes).extracting(node -> node.path("Index Name").asText())
+                .contains("idx_games_active_started_at");
+    }
+
+    /**
+     * @return every node of the plan, after asserting at least one uses an
+     * index and none sequentially scans a table that has rows. (Empty
+     * partitions, e.g. future months, are cheapest to seq scan.)
+     */
+    private List<JsonNode> assertIndexScan(String sql) throws Exception {
+        List<JsonNode> nodes = nodes(jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class));
+
+        assertThat(nodes)
+                .as("plan for %s", sql)
+                .extracting(node -> node.path("Node Type").asText())
+                .containsAnyOf("Index Scan", "Index Only Scan", "Bitmap Index Scan");
+        assertThat(nodes)
+                .as("plan for %s", sql)
+                .filteredOn(node -> "Seq Scan".equals(node.path("Node Type").asText()))
+                .extracting(node -> node.path("Relation Name").asText())
+                .allMatch(this::isEmpty);
+        return nodes;
+    }
+
+    /** Every node of an EXPLAIN (FORMAT JSON) plan */
+    private List<JsonNode> nodes(String json) throws Exception {
+        List<JsonNode> nodes = new ArrayList<>();
+        collect(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+        return nodes;
+    }
+
+    private boolean isEmpty(String table) {
+        return Boolean.FALSE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM \"" + table + "\")", Boolean.class));
+    }
+
+    private static void collect(JsonNode plan, List<JsonNode> nodes) {
+        nodes.add(plan);
+        for (JsonNode child : plan.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.anime.guessgame.security;
+
+import com.anime.guessgame.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        BoundedPasswordEncoder encoder = encoder(new BCryptPasswordEncoder(4), Duration.ofSeconds(5));
+
+        String hash = encoder.encode("Password123!");
+
+        assertThat(encoder.matches("Password123!", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void saturatedPoolShedsLoadInsteadOfQueueingForever() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = encoder(blockingEncoder(release), Duration.ofSeconds(5));
+
+        // Occupy the single worker and the single queue slot
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+
+        assertThatThrownBy(() -> encoder.encode("Password123!")).isInstanceOf(ServiceBusyException.class);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void slowHashTimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = encoder(blockingEncoder(release), Duration.ofMillis(100));
+
+        assertThatThrownBy(() -> encoder.encode("Password123!")).isInstanceOf(ServiceBusyException.class);
+        release.countDown();
+    }
+
+    @Test
+    void upgradeEncodingFlagsHashesWithADifferentCost() {
+        BoundedPasswordEncoder encoder = encoder(new BCryptPasswordEncoder(4), Duration.ofSeconds(5));
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("x"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("x"))).isTrue();
+    }
+
+    private BoundedPasswordEncoder encoder(PasswordEncoder delegate, Duration waitTimeout) {
+        return new BoundedPasswordEncoder(delegate, executor, waitTimeout, 4, meterRegistry);
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                awaitQuietly(release);
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.entity.Character;
+import com.anime.guessgame.repository.CharacterRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AIService against the replayed cassette in src/test/resources/cassettes,
+ * which holds a couple of Luffy conversations. Changing the prompt template
+ * or Luffy's seed data means re-recording it (ai.cassette.mode=record).
+ */
+class AIServiceIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private AIService aiService;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Test
+    void answersFromTheRecording() {
+        assertThat(aiService.answerQuestion("Are you a pirate?", luffy()))
+                .isEqualTo("Yes! I'm the captain of the Straw Hat Pirates, and I'm going to be King of the Pirates!");
+        assertThat(aiService.answerQuestion("Do you wear a hat?", luffy()))
+                .startsWith("Yes, my straw hat");
+    }
+
+    @Test
+    void unrecordedQuestionGetsTheFallbackAnswer() {
+        assertThat(aiService.answerQuestion("Can you swim?", luffy()))
+                .isEqualTo("I'm having trouble thinking right now. Could you ask me something else?");
+    }
+
+    private Character luffy() {
+        return characterRepository.findByIsActiveTrue().stream()
+                .filter(character -> character.getName().equals("Monkey D. Luffy"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,73 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.entity.Game;
+import com.anime.guessgame.entity.User;
+import com.anime.guessgame.repository.CharacterRepository;
+import com.anime.guessgame.repository.GameRepository;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbandonedGameReaperIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void endsOnlyGamesWithoutRecentActivity() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(1);
+        LocalDateTime justNow = LocalDateTime.now().minusMinutes(5);
+
+        Long abandoned = startGame("idlePlayer", longAgo);
+        Long stillPlaying = startGame("slowPlayer", longAgo);
+        jdbcTemplate.update("INSERT INTO questions (game_id, question_text, answer_text, asked_at) VALUES (?, ?, ?, ?)",
+                stillPlaying, "Are you a pirate?", "Yes", justNow);
+        Long fresh = startGame("newPlayer", justNow);
+
+        int reaped = gameService.reapAbandonedGames(Duration.ofHours(6), 1);
+
+        assertThat(reaped).isEqualTo(1);
+        Game reapedGame = gameRepository.findById(abandoned).orElseThrow();
+        assertThat(reapedGame.getStatus()).isEqualTo(Game.GameStatus.LOST);
+        assertThat(reapedGame.getEndedAt()).isNotNull();
+        assertThat(gameRepository.findById(stillPlaying).orElseThrow().getStatus()).isEqualTo(Game.GameStatus.ACTIVE);
+        assertThat(gameRepository.findById(fresh).orElseThrow().getStatus()).isEqualTo(Game.GameStatus.ACTIVE);
+
+        // A misconfigured batch size of 0 still finishes (LIMIT 0 ends nothing)
+        assertThat(gameService.reapAbandonedGames(Duration.ofHours(6), 0)).isZero();
+    }
+
+    private Long startGame(String username, LocalDateTime startedAt) {
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("hash")
+                .build());
+        Long gameId = gameRepository.save(Game.builder()
+                .user(user)
+                .character(characterRepository.findRandomActiveCharacter().orElseThrow())
+                .status(Game.GameStatus.ACTIVE)
+                .build()).getId();
+        jdbcTemplate.update("UPDATE games SET started_at = ? WHERE id = ?", startedAt, gameId);
+        return gameId;
+    }
+}
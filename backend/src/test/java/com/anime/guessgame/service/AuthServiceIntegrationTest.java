@@ -12,10 +12,13 @@ import com.anime.guessgame.support.IntegrationTestBase;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class AuthServiceIntegrationTest extends IntegrationTestBase {
@@ -53,6 +56,10 @@ class AuthServiceIntegrationTest extends IntegrationTestBase {
                     assertThat(user.isEmailVerified()).isFalse();
                 });
 
+        // Verification email is queued after commit
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> !verificationTokenRepository.findAll().isEmpty());
+
         List<EmailVerificationToken> tokens = verificationTokenRepository.findAll();
         assertThat(tokens)
                 .hasSize(1)
@@ -95,11 +102,7 @@ class AuthServiceIntegrationTest extends IntegrationTestBase {
                 .orElseThrow()
                 .getId();
 
-        EmailVerificationToken token = verificationTokenRepository.findAll()
-                .stream()
-                .filter(t -> t.getUser().getId().equals(userId))
-                .findFirst()
-                .orElseThrow();
+        EmailVerificationToken token = awaitVerificationToken(userId);
 
         emailVerificationService.verifyEmailToken(token.getToken());
 
@@ -122,11 +125,7 @@ class AuthServiceIntegrationTest extends IntegrationTestBase {
                 .orElseThrow()
                 .getId();
 
-        EmailVerificationToken token = verificationTokenRepository.findAll()
-                .stream()
-                .filter(t -> t.getUser().getId().equals(userId))
-                .findFirst()
-                .orElseThrow();
+        EmailVerificationToken token = awaitVerificationToken(userId);
 
         token.setExpiresAt(token.getExpiresAt().minusHours(48));
         verificationTokenRepository.save(token);
@@ -140,5 +139,13 @@ class AuthServiceIntegrationTest extends IntegrationTestBase {
         assertThat(user.isEmailVerified()).isFalse();
         assertThat(user.getVerifiedAt()).isNull();
     }
-}
 
+    private EmailVerificationToken awaitVerificationToken(Long userId) {
+        return await().atMost(Duration.ofSeconds(10))
+                .until(() -> verificationTokenRepository.findAll()
+                        .stream()
+                        .filter(t -> t.getUser().getId().equals(userId))
+                        .findFirst(), Optional::isPresent)
+                .orElseThrow();
+    }
+}
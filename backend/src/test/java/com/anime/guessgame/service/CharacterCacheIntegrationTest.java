@@ -0,0 +1,80 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.entity.Character;
+import com.anime.guessgame.repository.CharacterRepository;
+import com.anime.guessgame.repository.GameRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.cache.CacheManager;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CharacterCacheIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private CharacterService characterService;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetCaches() {
+        characterService.evictCharacterCaches();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void regionsAreSizedFromTheCaffeineConfig() {
+        // Not Caffeine's empty fallback configuration (see HibernateCacheConfig)
+        CaffeineConfiguration<?, ?> characters = hibernateCacheManager
+                .getCache(Character.CACHE_REGION).getConfiguration(CaffeineConfiguration.class);
+
+        assertThat(characters.getMaximumSize()).hasValue(5000L);
+    }
+
+    @Test
+    void charactersAreLoadedFromTheDatabaseOnce() {
+        Long characterId = characterRepository.findRandomActiveCharacter().orElseThrow().getId();
+
+        characterRepository.findById(characterId);
+        characterRepository.findById(characterId);
+        // Native bulk updates of other tables must not flush the character region
+        gameRepository.endIdleActiveGames(LocalDateTime.now(), LocalDateTime.now(), 10);
+        characterRepository.findById(characterId);
+
+        assertThat(statistics.getDomainDataRegionStatistics(Character.CACHE_REGION).getHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void activeCharacterListComesFromTheQueryCacheUntilEvicted() {
+        int active = characterService.getAllActiveCharacters().size();
+        assertThat(characterService.getAllActiveCharacters()).hasSize(active);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        characterService.evictCharacterCaches();
+        characterService.getAllActiveCharacters();
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(2);
+    }
+}
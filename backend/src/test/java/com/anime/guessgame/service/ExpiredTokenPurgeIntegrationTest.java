@@ -0,0 +1,71 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.entity.EmailVerificationToken;
+import com.anime.guessgame.entity.PasswordResetToken;
+import com.anime.guessgame.entity.User;
+import com.anime.guessgame.repository.EmailVerificationTokenRepository;
+import com.anime.guessgame.repository.PasswordResetTokenRepository;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiredTokenPurgeIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private EmailVerificationTokenRepository verificationTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void purgeDeletesOnlyExpiredTokensAcrossSeveralChunks() {
+        User user = userRepository.save(User.builder()
+                .username("purgeUser")
+                .email("purge@example.com")
+                .password("hash")
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<PasswordResetToken> resetTokens = new ArrayList<>();
+        List<EmailVerificationToken> verificationTokens = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            resetTokens.add(new PasswordResetToken("reset-expired-" + i, now.minusHours(1), user));
+            verificationTokens.add(new EmailVerificationToken("verify-expired-" + i, now.minusHours(1), user));
+        }
+        for (int i = 0; i < 3; i++) {
+            resetTokens.add(new PasswordResetToken("reset-live-" + i, now.plusHours(1), user));
+            verificationTokens.add(new EmailVerificationToken("verify-live-" + i, now.plusHours(1), user));
+        }
+        passwordResetTokenRepository.saveAll(resetTokens);
+        verificationTokenRepository.saveAll(verificationTokens);
+
+        assertThat(passwordResetService.purgeExpiredTokens(10)).isEqualTo(25);
+        assertThat(emailVerificationService.purgeExpiredTokens(10)).isEqualTo(25);
+
+        assertThat(passwordResetTokenRepository.findAll())
+                .extracting(PasswordResetToken::getToken)
+                .allMatch(token -> token.startsWith("reset-live-"))
+                .hasSize(3);
+        assertThat(verificationTokenRepository.count()).isEqualTo(3);
+
+        // A misconfigured batch size of 0 still finishes (LIMIT 0 deletes nothing)
+        assertThat(passwordResetService.purgeExpiredTokens(0)).isZero();
+        assertThat(emailVerificationService.purgeExpiredTokens(0)).isZero();
+    }
+}
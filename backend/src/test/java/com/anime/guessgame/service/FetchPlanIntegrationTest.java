@@ -0,0 +1,64 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.entity.User;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With open-session-in-view off, whatever a service returns must be fully
+ * loaded: rendering it as JSON may not touch the database.
+ */
+class FetchPlanIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private CharacterService characterService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    void createPlayer() {
+        userRepository.save(User.builder().username("player").email("player@example.com").password("hash").build());
+    }
+
+    @Test
+    void openSessionInViewIsOff() {
+        assertThat(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void serviceResultsRenderWithoutLazyLoading() throws Exception {
+        String draftToken = gameService.startNewGame("player").getDraftToken();
+        gameService.askQuestion("player", "Are you a pirate?", draftToken);
+
+        assertRendersWithoutQueries(gameService.getCurrentGame("player", draftToken));
+        assertRendersWithoutQueries(gameService.askQuestion("player", "Do you wear a hat?", draftToken));
+        assertRendersWithoutQueries(gameService.submitGuess("player", "Nobody", draftToken));
+        assertRendersWithoutQueries(gameService.getUserGameHistory("player"));
+        characterService.evictCharacterCaches();
+        assertRendersWithoutQueries(characterService.getAllActiveCharacters());
+        assertRendersWithoutQueries(characterService.getAllCharacters());
+    }
+
+    private void assertRendersWithoutQueries(Object result) throws Exception {
+        // A lazy association left unloaded would throw LazyInitializationException here
+        assertThat(captureSql(null, () -> objectMapper.writeValueAsString(result)).statements()).isEmpty();
+    }
+}
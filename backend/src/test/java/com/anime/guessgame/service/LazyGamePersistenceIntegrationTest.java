@@ -0,0 +1,101 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.dto.GameResponse;
+import com.anime.guessgame.entity.Game;
+import com.anime.guessgame.entity.User;
+import com.anime.guessgame.exception.ResourceNotFoundException;
+import com.anime.guessgame.repository.GameRepository;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LazyGamePersistenceIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createPlayers() {
+        userRepository.save(User.builder().username("player").email("player@example.com").password("hash").build());
+        userRepository.save(User.builder().username("other").email("other@example.com").password("hash").build());
+    }
+
+    @Test
+    void rerollsWriteNothing() {
+        GameResponse first = gameService.startNewGame("player");
+        GameResponse second = gameService.startNewGame("player");
+
+        assertThat(first.getGameId()).isNull();
+        assertThat(second.getDraftToken()).isNotBlank().isNotEqualTo(first.getDraftToken());
+        assertThat(gameRepository.count()).isZero();
+        assertThat(gameService.getCurrentGame("player", second.getDraftToken()).getDraftToken())
+                .isEqualTo(second.getDraftToken());
+    }
+
+    @Test
+    void firstQuestionPersistsTheDraftOnce() {
+        String draftToken = gameService.startNewGame("player").getDraftToken();
+
+        gameService.askQuestion("player", "Are you a pirate?", draftToken);
+        gameService.askQuestion("player", "Do you have a hat?", draftToken);
+
+        assertThat(gameRepository.findAll())
+                .singleElement()
+                .satisfies(game -> {
+                    assertThat(game.getStatus()).isEqualTo(Game.GameStatus.ACTIVE);
+                    assertThat(game.getQuestionsCount()).isEqualTo(2);
+                });
+        assertThat(gameService.getCurrentGame("player", draftToken).getGameId()).isNotNull();
+    }
+
+    @Test
+    void finishedDraftCannotBeReplayed() {
+        String draftToken = gameService.startNewGame("player").getDraftToken();
+        gameService.submitGuess("player", "Somebody", draftToken);
+
+        assertThatThrownBy(() -> gameService.askQuestion("player", "Again?", draftToken))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(gameRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void persistedDraftStaysConsumedWhenTheGameClockIsBehind() {
+        String draftToken = gameService.startNewGame("player").getDraftToken();
+        gameService.askQuestion("player", "Are you a pirate?", draftToken);
+        // As if the node that persisted the game ran a minute behind the one that issued the draft
+        jdbcTemplate.update("UPDATE games SET started_at = started_at - INTERVAL '1 minute'");
+
+        Long gameId = gameService.getCurrentGame("player", draftToken).getGameId();
+        gameService.askQuestion("player", "Do you have a hat?", draftToken);
+
+        assertThat(gameId).isNotNull();
+        assertThat(gameRepository.count()).isEqualTo(1);
+        assertThat(gameRepository.findById(gameId).orElseThrow().getQuestionsCount()).isEqualTo(2);
+    }
+
+    @Test
+    void draftBelongsToTheUserItWasIssuedTo() {
+        String draftToken = gameService.startNewGame("player").getDraftToken();
+
+        assertThatThrownBy(() -> gameService.askQuestion("other", "Are you a pirate?", draftToken))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> gameService.askQuestion("player", "Are you a pirate?", draftToken + "x"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(gameRepository.count()).isZero();
+    }
+}
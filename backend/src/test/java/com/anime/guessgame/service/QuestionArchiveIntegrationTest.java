@@ -0,0 +1,121 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.dto.GameResponse;
+import com.anime.guessgame.entity.Game;
+import com.anime.guessgame.entity.User;
+import com.anime.guessgame.repository.CharacterRepository;
+import com.anime.guessgame.repository.GameRepository;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionArchiveIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private QuestionArchiveService questionArchiveService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void oldPartitionIsCompactedIntoTheArchiveAndDropped() {
+        YearMonth oldMonth = YearMonth.now().minusMonths(9);
+        String oldPartition = createPartition(oldMonth);
+        createPartition(oldMonth.plusMonths(1));
+
+        Long gameId = createGame("archivedPlayer", Game.GameStatus.WON, 3);
+        LocalDateTime lastDayOfMonth = oldMonth.atEndOfMonth().atTime(23, 0);
+        insertQuestion(gameId, "Are you a pirate?", lastDayOfMonth);
+        insertQuestion(gameId, "Do you wear a hat?", lastDayOfMonth.plusMinutes(30));
+        // Spills over into the next month's partition; archived together with the rest of the game
+        insertQuestion(gameId, "Is it Luffy?", lastDayOfMonth.plusHours(2));
+
+        QuestionArchiveService.ArchiveResult result = questionArchiveService.archiveOldPartitions(6, 1);
+
+        assertThat(result.archivedGames()).isEqualTo(1);
+        assertThat(result.droppedPartitions()).contains(oldPartition);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM questions WHERE game_id = ?", Integer.class, gameId))
+                .isZero();
+
+        List<GameResponse> history = gameService.getUserGameHistory("archivedPlayer");
+        assertThat(history).singleElement()
+                .extracting(GameResponse::getConversationHistory)
+                .satisfies(conversation -> assertThat(conversation)
+                        .extracting(GameResponse.QuestionResponse::getQuestion)
+                        .containsExactly("Are you a pirate?", "Do you wear a hat?", "Is it Luffy?"));
+    }
+
+    @Test
+    void partitionWithAnActiveGameIsKept() {
+        YearMonth oldMonth = YearMonth.now().minusMonths(10);
+        String oldPartition = createPartition(oldMonth);
+
+        Long gameId = createGame("stillPlaying", Game.GameStatus.ACTIVE, 1);
+        insertQuestion(gameId, "Are you a ninja?", oldMonth.atDay(15).atStartOfDay());
+
+        QuestionArchiveService.ArchiveResult result = questionArchiveService.archiveOldPartitions(6, 100);
+
+        assertThat(result.droppedPartitions()).doesNotContain(oldPartition);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM questions WHERE game_id = ?", Integer.class, gameId))
+                .isEqualTo(1);
+
+        jdbcTemplate.update("DELETE FROM questions WHERE game_id = ?", gameId);
+        jdbcTemplate.execute("DROP TABLE " + oldPartition);
+    }
+
+    @Test
+    void comingPartitionsExistAfterStartupAndAreReportedAsAGauge() {
+        YearMonth lastMonth = YearMonth.now().plusMonths(3);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                "questions_y%04dm%02d".formatted(lastMonth.getYear(), lastMonth.getMonthValue()))).isTrue();
+        assertThat(meterRegistry.get("questions.partitions.months.ahead").gauge().value()).isGreaterThanOrEqualTo(3);
+    }
+
+    private String createPartition(YearMonth month) {
+        return jdbcTemplate.queryForObject("SELECT create_questions_partition(?)", String.class, month.atDay(1));
+    }
+
+    private Long createGame(String username, Game.GameStatus status, int questionsCount) {
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("hash")
+                .build());
+        return gameRepository.save(Game.builder()
+                .user(user)
+                .character(characterRepository.findRandomActiveCharacter().orElseThrow())
+                .status(status)
+                .questionsCount(questionsCount)
+                .build()).getId();
+    }
+
+    private void insertQuestion(Long gameId, String question, LocalDateTime askedAt) {
+        jdbcTemplate.update("INSERT INTO questions (game_id, question_text, answer_text, asked_at) VALUES (?, ?, ?, ?)",
+                gameId, question, "Answer", askedAt);
+    }
+}
@@ -0,0 +1,120 @@
+package com.anime.guessgame.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs RecaptchaService against a local stub of Google's siteverify endpoint.
+ */
+class RecaptchaServiceTest {
+
+    private HttpServer stubGoogle;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile String responseBody;
+    private volatile long responseDelayMillis;
+
+    private RecaptchaService recaptchaService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubGoogle = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubGoogle.createContext("/recaptcha/api/siteverify", exchange -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubGoogle.setExecutor(Executors.newCachedThreadPool());
+        stubGoogle.start();
+
+        responseBody = "{\"success\": true, \"score\": 0.9, \"action\": \"register\"}";
+        responseDelayMillis = 0;
+
+        recaptchaService = new RecaptchaService();
+        ReflectionTestUtils.setField(recaptchaService, "enabled", true);
+        ReflectionTestUtils.setField(recaptchaService, "secretKey", "test-secret");
+        ReflectionTestUtils.setField(recaptchaService, "threshold", 0.5);
+        ReflectionTestUtils.setField(recaptchaService, "verifyUrl",
+                "http://127.0.0.1:" + stubGoogle.getAddress().getPort() + "/recaptcha/api/siteverify");
+        ReflectionTestUtils.setField(recaptchaService, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(recaptchaService, "requestTimeout", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(recaptchaService, "replayCacheMaxSize", 1000);
+        ReflectionTestUtils.setField(recaptchaService, "observationRegistry", ObservationRegistry.NOOP);
+        recaptchaService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubGoogle.stop(0);
+    }
+
+    @Test
+    void verifyAcceptsHumanWithMatchingAction() {
+        assertThat(recaptchaService.verify("token-1", "register")).isTrue();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void verifyRejectsLowScoreAndActionMismatch() {
+        responseBody = "{\"success\": true, \"score\": 0.1, \"action\": \"register\"}";
+        assertThat(recaptchaService.verify("low-score", "register")).isFalse();
+
+        responseBody = "{\"success\": true, \"score\": 0.9, \"action\": \"login\"}";
+        assertThat(recaptchaService.verify("wrong-action", "register")).isFalse();
+        assertThat(recaptchaService.verifyWithoutAction("no-action-check")).isTrue();
+    }
+
+    @Test
+    void replayedTokenIsRejectedWithoutCallingGoogle() {
+        assertThat(recaptchaService.verify("token-2", "register")).isTrue();
+        assertThat(recaptchaService.verify("token-2", "register")).isFalse();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void slowGoogleTimesOutAndTokenCanBeRetried() {
+        responseDelayMillis = 2_000;
+        assertThat(recaptchaService.verify("token-3", "register")).isFalse();
+
+        responseDelayMillis = 0;
+        assertThat(recaptchaService.verify("token-3", "register")).isTrue();
+    }
+
+    @Test
+    void replayCacheStaysWithinItsMaximumSize() {
+        ReflectionTestUtils.setField(recaptchaService, "replayCacheMaxSize", 10);
+        recaptchaService.init();
+
+        for (int i = 0; i < 50; i++) {
+            recaptchaService.verify("burst-" + i, "register");
+        }
+
+        Cache<?, ?> seenTokens = (Cache<?, ?>) ReflectionTestUtils.getField(recaptchaService, "seenTokens");
+        seenTokens.cleanUp();
+        assertThat(seenTokens.estimatedSize()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,99 @@
+package com.anime.guessgame.service;
+
+import com.anime.guessgame.dto.RegisterRequest;
+import com.anime.guessgame.exception.ResourceAlreadyExistsException;
+import com.anime.guessgame.repository.UserRepository;
+import com.anime.guessgame.support.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers registration from many threads at once. The unique constraints,
+ * not a check-then-insert, decide who wins.
+ */
+class RegistrationConcurrencyIntegrationTest extends IntegrationTestBase {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void sameUsernameRegisteredConcurrentlyCreatesExactlyOneUser() throws Exception {
+        List<Object> outcomes = registerConcurrently(i -> new RegisterRequest(
+                "raceUser", "race" + i + "@example.com", "Password123!"));
+
+        assertThat(outcomes).filteredOn(o -> o instanceof String).hasSize(1);
+        assertThat(outcomes).filteredOn(o -> o instanceof ResourceAlreadyExistsException)
+                .hasSize(THREADS - 1)
+                .allSatisfy(e -> assertThat(((Exception) e).getMessage()).isEqualTo("Username already exists"));
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void sameEmailRegisteredConcurrentlyCreatesExactlyOneUser() throws Exception {
+        List<Object> outcomes = registerConcurrently(i -> new RegisterRequest(
+                "emailRace" + i, "shared@example.com", "Password123!"));
+
+        assertThat(outcomes).filteredOn(o -> o instanceof String).hasSize(1);
+        assertThat(outcomes).filteredOn(o -> o instanceof ResourceAlreadyExistsException)
+                .hasSize(THREADS - 1)
+                .allSatisfy(e -> assertThat(((Exception) e).getMessage()).isEqualTo("Email already exists"));
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void distinctUsersRegisteredConcurrentlyAllSucceed() throws Exception {
+        List<Object> outcomes = registerConcurrently(i -> new RegisterRequest(
+                "distinct" + i, "distinct" + i + "@example.com", "Password123!"));
+
+        assertThat(outcomes).allMatch(o -> o instanceof String);
+        assertThat(userRepository.count()).isEqualTo(THREADS);
+    }
+
+    /**
+     * @return per thread, the success message or the exception thrown
+     */
+    private List<Object> registerConcurrently(IntFunction<RegisterRequest> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                RegisterRequest request = requests.apply(i);
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        return authService.register(request).getMessage();
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+
+            startGate.countDown();
+
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                outcomes.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.anime.guessgame.support;
+
+import org.springframework.core.env.Environment;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * The application started as a separate process (a JVM or the native
+ * executable) on a free port, for tests that measure or drive it from the
+ * outside. Output goes to the given log file; close() stops the process.
+ *
+ * Startup measurements are appended to target/startup-report.tsv (variant,
+ * ms until healthy, ms for the first request, RSS in kB), so the cds and
+ * native builds can be compared run for run.
+ */
+public final class ApplicationProcess implements AutoCloseable {
+
+    private static final Path REPORT = Path.of(System.getProperty("startup.report.file", "target/startup-report.tsv"));
+
+    private final Process process;
+    private final int port;
+    private final long startedAt;
+    private final File log;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private ApplicationProcess(Process process, int port, long startedAt, File log) {
+        this.process = process;
+        this.port = port;
+        this.startedAt = startedAt;
+        this.log = log;
+    }
+
+    /**
+     * Runs command with --server.port=... appended and environment added to the
+     * inherited one.
+     */
+    public static ApplicationProcess start(List<String> command, Map<String, String> environment, File log)
+            throws IOException {
+        return start(command, environment, null, log);
+    }
+
+    /**
+     * As above, in directory (null for the current one).
+     */
+    public static ApplicationProcess start(List<String> command, Map<String, String> environment, File directory,
+            File log) throws IOException {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+        ProcessBuilder builder = new ProcessBuilder(withPort)
+                .directory(directory)
+                .redirectErrorStream(true)
+                .redirectOutput(log);
+        builder.environment().putAll(environment);
+        long startedAt = System.nanoTime();
+        return new ApplicationProcess(builder.start(), port, startedAt, log);
+    }
+
+    /**
+     * The environment the images run with (prod profile, placeholder secrets),
+     * pointed at the test database.
+     */
+    public static Map<String, String> prodEnvironment(Environment testEnvironment) {
+        return Map.of(
+                "SPRING_PROFILES_ACTIVE", "prod",
+                "DATABASE_URL", testEnvironment.getProperty("spring.datasource.url"),
+                "DATABASE_USERNAME", testEnvironment.getProperty("spring.datasource.username"),
+                "DATABASE_PASSWORD", testEnvironment.getProperty("spring.datasource.password"),
+                "JWT_SECRET", "c3RhcnR1cC1pbnRlZ3JhdGlvbi10ZXN0LXNpZ25pbmcta2V5LTAxMjM0NTY3ODk=",
+                "OPENAI_API_KEY", "startup-test",
+                "SENDGRID_API_KEY", "startup-test",
+                "GOOGLE_CLIENT_ID", "startup-test",
+                "GOOGLE_CLIENT_SECRET", "startup-test");
+    }
+
+    /**
+     * Polls /actuator/health until it answers 200 and returns the time since
+     * the process was started.
+     */
+    public Duration awaitHealthy(Duration timeout) throws Exception {
+        HttpRequest health = request("/actuator/health").build();
+        long deadline = startedAt + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new AssertionError("app exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return Duration.ofNanos(System.nanoTime() - startedAt);
+                }
+            } catch (ConnectException notListeningYet) {
+                // keep polling
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("not healthy after " + timeout + ", see " + log);
+    }
+
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+
+    public HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Resident set size as the kernel reports it; empty where there is no /proc.
+     */
+    public OptionalLong residentSetKilobytes() throws IOException {
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return OptionalLong.empty();
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst();
+    }
+
+    public void report(String variant, Duration ready, Duration firstRequest) throws IOException {
+        OptionalLong rss = residentSetKilobytes();
+        String line = variant + "\t" + ready.toMillis() + "\t" + firstRequest.toMillis() + "\t"
+                + (rss.isPresent() ? rss.getAsLong() : "") + System.lineSeparator();
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        Files.writeString(REPORT, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
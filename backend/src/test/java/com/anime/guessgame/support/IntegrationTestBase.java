@@ -3,10 +3,10 @@ package com.anime.guessgame.support;
 import com.anime.guessgame.repository.EmailVerificationTokenRepository;
 import com.anime.guessgame.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
-import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -14,9 +14,13 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.concurrent.Callable;
+
 @Testcontainers(disabledWithoutDocker = true)
 @SpringBootTest
+@AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(SqlStatementRecorder.Config.class)
 public abstract class IntegrationTestBase {
 
     @Container
@@ -25,9 +29,6 @@ public abstract class IntegrationTestBase {
             .withUsername("test")
             .withPassword("test");
 
-    @MockBean
-    protected ChatModel chatModel;
-
     @Autowired
     private EmailVerificationTokenRepository verificationTokenRepository;
 
@@ -44,6 +45,15 @@ public abstract class IntegrationTestBase {
         registry.add("spring.flyway.password", POSTGRES::getPassword);
     }
 
+    /**
+     * Run the action and return the SQL it issued on this thread. Labelled
+     * captures (e.g. "GET /api/game/history") also go into the per-endpoint
+     * report; see {@link SqlStatementRecorder}.
+     */
+    protected SqlStatementRecorder.Capture captureSql(String label, Callable<?> action) throws Exception {
+        return SqlStatementRecorder.INSTANCE.capture(label, action);
+    }
+
     @AfterEach
     protected void cleanDatabase() {
         verificationTokenRepository.deleteAll();
@@ -0,0 +1,132 @@
+package com.anime.guessgame.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Records the SQL statements run on the current thread while a capture is
+ * open (see {@link IntegrationTestBase#captureSql}) by proxying the
+ * application's DataSource.
+ *
+ * Every labelled capture is also written to target/sql-statement-report.tsv
+ * (label, statement count, total DB time), sorted by label so two builds can
+ * be diffed.
+ */
+public final class SqlStatementRecorder implements QueryExecutionListener {
+
+    static final SqlStatementRecorder INSTANCE = new SqlStatementRecorder();
+
+    private static final Path REPORT = Path.of(System.getProperty("sql.report.file", "target/sql-statement-report.tsv"));
+
+    private static final Map<String, Capture> report = new TreeMap<>();
+
+    private final ThreadLocal<List<Statement>> current = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    /**
+     * @param statements every statement in execution order (one per batch execution)
+     * @param dbMillis total time spent waiting on the database
+     */
+    public record Capture(List<String> statements, long dbMillis) {
+
+        public int count() {
+            return statements.size();
+        }
+
+        @Override
+        public String toString() {
+            return statements.size() + " statements in " + dbMillis + " ms:\n  "
+                    + String.join("\n  ", statements);
+        }
+    }
+
+    private record Statement(String sql, long elapsedMillis) {
+    }
+
+    <T> Capture capture(String label, Callable<T> action) throws Exception {
+        List<Statement> statements = new ArrayList<>();
+        current.set(statements);
+        try {
+            action.call();
+        } finally {
+            current.remove();
+        }
+
+        Capture capture = new Capture(
+                statements.stream().map(Statement::sql).collect(Collectors.toList()),
+                statements.stream().mapToLong(Statement::elapsedMillis).sum());
+        if (label != null) {
+            record(label, capture);
+        }
+        return capture;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<Statement> statements = current.get();
+        if (statements != null) {
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            statements.add(new Statement(sql.replaceAll("\\s+", " ").trim(), execInfo.getElapsedTime()));
+        }
+    }
+
+    private static synchronized void record(String label, Capture capture) {
+        report.put(label, capture);
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint\tstatements\tdb_ms");
+        report.forEach((name, c) -> lines.add(name + "\t" + c.count() + "\t" + c.dbMillis()));
+        try {
+            Files.createDirectories(REPORT.toAbsolutePath().getParent());
+            Files.write(REPORT, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Wraps the primary DataSource bean so every statement passes through
+     * the recorder.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Config {
+
+        @Bean
+        static BeanPostProcessor sqlStatementRecordingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name("recorded")
+                                .listener(INSTANCE)
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
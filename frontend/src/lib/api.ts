@@ -10,6 +10,25 @@ export const api = axios.create({
   },
 });
 
+// A new game is only a draft (no database row) until its first question or guess;
+// the backend hands us an opaque token for it that we send back on game requests.
+export const GAME_DRAFT_KEY = 'gameDraft';
+
+const gameDraftHeaders = (): Record<string, string> => {
+  const draftToken = localStorage.getItem(GAME_DRAFT_KEY);
+  return draftToken ? { 'X-Game-Draft': draftToken } : {};
+};
+
+// Game responses carry the token only while the game is still a draft; once it
+// has been persisted (or has ended) the stored token is stale and is dropped.
+const storeGameDraft = (game: { draftToken?: string }) => {
+  if (game.draftToken) {
+    localStorage.setItem(GAME_DRAFT_KEY, game.draftToken);
+  } else {
+    localStorage.removeItem(GAME_DRAFT_KEY);
+  }
+};
+
 // Request interceptor to add JWT token
 api.interceptors.request.use(
   (config) => {
@@ -32,6 +51,7 @@ api.interceptors.response.use(
       // Clear token and redirect to login
       localStorage.removeItem('token');
       localStorage.removeItem('user');
+      localStorage.removeItem(GAME_DRAFT_KEY);
       emitAuthChange();
       window.location.href = '/login';
     }
@@ -84,7 +104,7 @@ export interface ResendVerificationRequest {
 }
 
 export interface GameResponse {
-  gameId: number;
+  gameId: number | null; // null while the game is still a draft
   status: 'ACTIVE' | 'WON' | 'LOST';
   questionsCount: number;
   startedAt: string;
@@ -93,6 +113,7 @@ export interface GameResponse {
   finalGuess?: string;
   revealedCharacter?: string;
   conversationHistory: QuestionResponse[];
+  draftToken?: string;
 }
 
 export interface QuestionResponse {
@@ -165,25 +186,31 @@ export const contactAPI = {
 export const gameAPI = {
   startGame: async (): Promise<GameResponse> => {
     const response = await api.post<GameResponse>('/game/start');
+    storeGameDraft(response.data);
     return response.data;
   },
 
   askQuestion: async (question: string): Promise<QuestionAnswerResponse> => {
-    const response = await api.post<QuestionAnswerResponse>('/game/ask', { question });
+    const response = await api.post<QuestionAnswerResponse>('/game/ask', { question }, { headers: gameDraftHeaders() });
+    // The first question persists the draft
+    localStorage.removeItem(GAME_DRAFT_KEY);
     return response.data;
   },
 
   submitGuess: async (characterName: string): Promise<GameResponse> => {
-    const response = await api.post<GameResponse>('/game/guess', { characterName });
+    const response = await api.post<GameResponse>('/game/guess', { characterName }, { headers: gameDraftHeaders() });
+    localStorage.removeItem(GAME_DRAFT_KEY);
     return response.data;
   },
 
   getCurrentGame: async (): Promise<GameResponse | null> => {
     try {
-      const response = await api.get<GameResponse>('/game/current');
+      const response = await api.get<GameResponse>('/game/current', { headers: gameDraftHeaders() });
+      storeGameDraft(response.data);
       return response.data;
     } catch (error) {
       if (isAxiosError(error) && error.response?.status === 404) {
+        localStorage.removeItem(GAME_DRAFT_KEY);
         return null;
       }
       throw error;
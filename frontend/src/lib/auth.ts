@@ -1,4 +1,4 @@
-import { User, AuthResponse } from './api';
+import { User, AuthResponse, GAME_DRAFT_KEY } from './api';
 import { emitAuthChange } from './auth-events';
 
 export const setAuthToken = (token: string) => {
@@ -18,6 +18,7 @@ export const removeAuthToken = () => {
   if (typeof window !== 'undefined') {
     localStorage.removeItem('token');
     localStorage.removeItem('user');
+    localStorage.removeItem(GAME_DRAFT_KEY);
     emitAuthChange();
   }
 };